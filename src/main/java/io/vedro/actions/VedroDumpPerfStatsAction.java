@@ -0,0 +1,50 @@
+package io.vedro.actions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.google.gson.GsonBuilder;
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbAware;
+
+import io.vedro.util.VedroPerfStats;
+
+/**
+ * Writes the current {@link VedroPerfStats} snapshot as JSON to the IDE log directory
+ */
+public class VedroDumpPerfStatsAction extends AnAction implements DumbAware {
+    private static final Logger LOG = Logger.getInstance(VedroDumpPerfStatsAction.class);
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Path file = Paths.get(PathManager.getLogPath(), "vedro-perf-" + System.currentTimeMillis() + ".json");
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(VedroPerfStats.toJson());
+
+        String message;
+        NotificationType type;
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, json, StandardCharsets.UTF_8);
+            message = "Vedro performance stats written to " + file;
+            type = NotificationType.INFORMATION;
+        } catch (IOException ex) {
+            LOG.warn("Cannot write Vedro performance stats to " + file, ex);
+            message = "Cannot write Vedro performance stats: " + ex.getMessage();
+            type = NotificationType.ERROR;
+        }
+
+        NotificationGroupManager.getInstance().getNotificationGroup(VedroRunAffectedScenariosAction.NOTIFICATION_GROUP)
+            .createNotification(message, type)
+            .notify(e.getProject());
+    }
+}
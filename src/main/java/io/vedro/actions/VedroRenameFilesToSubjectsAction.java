@@ -0,0 +1,63 @@
+package io.vedro.actions;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+
+import io.vedro.refactoring.VedroSubjectRenames;
+import io.vedro.ui.rename.VedroSubjectRenamePreviewDialog;
+
+/**
+ * Renames every scenario file in the selected directory, or in the project, to match its subject
+ */
+public class VedroRenameFilesToSubjectsAction extends AnAction {
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        e.getPresentation().setEnabledAndVisible(project != null && !DumbService.isDumb(project));
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        VirtualFile selected = e.getData(CommonDataKeys.VIRTUAL_FILE);
+        GlobalSearchScope scope = (selected != null && selected.isDirectory())
+            ? GlobalSearchScopesCore.directoryScope(project, selected, true)
+            : GlobalSearchScope.projectScope(project);
+
+        List<VedroSubjectRenames.Candidate> candidates = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+            () -> ReadAction.compute(() -> VedroSubjectRenames.findCandidates(project, scope)),
+            "Finding Files That Do Not Match Subjects",
+            true,
+            project
+        );
+
+        if (candidates.isEmpty()) {
+            NotificationGroupManager.getInstance().getNotificationGroup(VedroRunAffectedScenariosAction.NOTIFICATION_GROUP)
+                .createNotification("All scenario file names match their subjects", NotificationType.INFORMATION)
+                .notify(project);
+            return;
+        }
+
+        if (new VedroSubjectRenamePreviewDialog(project, candidates).showAndGet()) {
+            VedroSubjectRenames.apply(project, candidates);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.vedro.actions;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.notification.NotificationGroupManager;
+import com.intellij.notification.NotificationType;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import io.vedro.execution.VedroAffectedScenarios;
+import io.vedro.execution.VedroRunLauncher;
+
+/**
+ * Runs only the scenario files that depend on locally modified files, one run per config root
+ */
+public class VedroRunAffectedScenariosAction extends AnAction {
+    public static final String NOTIFICATION_GROUP = "Vedro";
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        e.getPresentation().setEnabled(project != null && !DumbService.isDumb(project));
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+
+        VedroAffectedScenarios affected = new VedroAffectedScenarios(project);
+        // Unsaved documents are only known before saving, and the VCS status of the saved ones lags behind
+        Set<VirtualFile> modified = affected.getModifiedFiles();
+        FileDocumentManager.getInstance().saveAllDocuments();
+
+        Map<Path, List<String>> targets = ProgressManager.getInstance().runProcessWithProgressSynchronously(
+            () -> ReadAction.compute(() -> affected.getAffectedTargets(modified)),
+            "Finding Affected Vedro Scenarios",
+            true,
+            project
+        );
+
+        if (targets.isEmpty()) {
+            NotificationGroupManager.getInstance().getNotificationGroup(NOTIFICATION_GROUP)
+                .createNotification("No Vedro scenarios depend on the modified files", NotificationType.INFORMATION)
+                .notify(project);
+            return;
+        }
+
+        targets.forEach((workingDirectory, files) -> {
+            VirtualFile dir = LocalFileSystem.getInstance().findFileByNioFile(workingDirectory);
+            Module module = dir != null ? ModuleUtilCore.findModuleForFile(dir, project) : null;
+            VedroRunLauncher.run(project, workingDirectory, files, module, getName(project, workingDirectory));
+        });
+    }
+
+    @NotNull
+    protected static String getName(@NotNull Project project, @NotNull Path workingDirectory) {
+        String basePath = project.getBasePath();
+        String rel = basePath == null ? workingDirectory.toString() : Path.of(basePath).relativize(workingDirectory).toString();
+        return "Affected Vedro scenarios in '" + (rel.isEmpty() ? "./" : rel) + "'";
+    }
+}
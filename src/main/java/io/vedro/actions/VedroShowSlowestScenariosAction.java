@@ -0,0 +1,28 @@
+package io.vedro.actions;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+
+import io.vedro.ui.history.VedroSlowestScenariosDialog;
+
+/**
+ * Shows the scenarios with the largest median duration from the local run history
+ */
+public class VedroShowSlowestScenariosAction extends AnAction implements DumbAware {
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project != null) {
+            new VedroSlowestScenariosDialog(project).show();
+        }
+    }
+}
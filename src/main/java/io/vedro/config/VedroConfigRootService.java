@@ -0,0 +1,165 @@
+package io.vedro.config;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+
+import io.vedro.util.VedroPerfStats;
+
+/**
+ * Keeps a map from directories to their nearest config file (vedro.cfg.py).
+ * Entries are dropped by bulk VFS events instead of being recomputed on every lookup.
+ */
+@Service
+public final class VedroConfigRootService implements Disposable {
+    private final Project project;
+
+    // config file name -> directory path -> nearest config file
+    private final Map<String, Map<String, Optional<Path>>> roots = new ConcurrentHashMap<>();
+
+    public VedroConfigRootService(@NotNull Project project) {
+        this.project = project;
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    handleEvent(event);
+                }
+            }
+        });
+    }
+
+    public static VedroConfigRootService getInstance(@NotNull Project project) {
+        return project.getService(VedroConfigRootService.class);
+    }
+
+    /**
+     * Finds the nearest config file in the directory of a file or in one of its ancestors up to the project root
+     */
+    @Nullable
+    public Path findConfigFile(@NotNull VirtualFile file, @NotNull String configFileName) {
+        long start = VedroPerfStats.start();
+        try {
+            return computeConfigFile(file, configFileName);
+        } finally {
+            VedroPerfStats.stop(VedroPerfStats.Metric.FIND_CONFIG_FILE, start);
+        }
+    }
+
+    @Nullable
+    protected Path computeConfigFile(@NotNull VirtualFile file, @NotNull String configFileName) {
+        VirtualFile dir = file.isDirectory() ? file : file.getParent();
+        if (dir == null) {
+            return null;
+        }
+
+        Map<String, Optional<Path>> cache = roots.computeIfAbsent(configFileName, name -> new ConcurrentHashMap<>());
+        String projectPath = project.getBasePath();
+
+        List<String> visited = new ArrayList<>();
+        Optional<Path> result = Optional.empty();
+        while (dir != null) {
+            ProgressManager.checkCanceled();
+            Optional<Path> cached = cache.get(dir.getPath());
+            if (cached != null) {
+                result = cached;
+                break;
+            }
+            visited.add(dir.getPath());
+
+            VirtualFile child = dir.findChild(configFileName);
+            if (child != null && !child.isDirectory()) {
+                result = Optional.of(Paths.get(child.getPath()));
+                break;
+            }
+            if (dir.getPath().equals(projectPath)) {
+                break;
+            }
+            dir = dir.getParent();
+        }
+
+        if (visited.isEmpty()) {
+            VedroPerfStats.hit(VedroPerfStats.Cache.CONFIG_ROOT);
+        } else {
+            VedroPerfStats.miss(VedroPerfStats.Cache.CONFIG_ROOT);
+        }
+        for (String path : visited) {
+            cache.put(path, result);
+        }
+        return result.orElse(null);
+    }
+
+    protected void handleEvent(@NotNull VFileEvent event) {
+        if (event instanceof VFileCreateEvent create) {
+            invalidateIfConfig(create.getChildName(), create.getParent().getPath());
+        } else if (event instanceof VFileCopyEvent copy) {
+            invalidateIfConfig(copy.getNewChildName(), copy.getNewParent().getPath());
+        } else if (event instanceof VFileDeleteEvent delete) {
+            VirtualFile file = delete.getFile();
+            invalidateFile(file.getName(), file.getPath(), file.isDirectory());
+        } else if (event instanceof VFileMoveEvent move) {
+            VirtualFile file = move.getFile();
+            invalidateFile(file.getName(), move.getOldPath(), file.isDirectory());
+            invalidateIfConfig(file.getName(), move.getNewParent().getPath());
+        } else if (event instanceof VFilePropertyChangeEvent change && change.isRename()) {
+            VirtualFile file = change.getFile();
+            VirtualFile parent = file.getParent();
+            if (file.isDirectory()) {
+                invalidateSubtree(change.getOldPath());
+            } else if (parent != null) {
+                invalidateIfConfig(String.valueOf(change.getOldValue()), parent.getPath());
+                invalidateIfConfig(String.valueOf(change.getNewValue()), parent.getPath());
+            }
+        }
+    }
+
+    protected void invalidateFile(@NotNull String name, @NotNull String path, boolean isDirectory) {
+        if (isDirectory) {
+            invalidateSubtree(path);
+            return;
+        }
+        int separator = path.lastIndexOf('/');
+        if (separator > 0) {
+            invalidateIfConfig(name, path.substring(0, separator));
+        }
+    }
+
+    protected void invalidateIfConfig(@NotNull String name, @NotNull String dirPath) {
+        if (roots.containsKey(name)) {
+            invalidateSubtree(dirPath);
+        }
+    }
+
+    protected void invalidateSubtree(@NotNull String dirPath) {
+        String prefix = dirPath + "/";
+        for (Map<String, Optional<Path>> cache : roots.values()) {
+            cache.keySet().removeIf(path -> path.equals(dirPath) || path.startsWith(prefix));
+        }
+    }
+
+    @Override
+    public void dispose() {
+        roots.clear();
+    }
+}
@@ -1,5 +1,8 @@
 package io.vedro.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -15,19 +18,31 @@ import com.intellij.openapi.util.InvalidDataException;
 import com.intellij.openapi.util.JDOMExternalizerUtil;
 import com.intellij.openapi.util.NlsActions;
 import com.intellij.openapi.util.WriteExternalException;
+import com.intellij.openapi.util.text.StringUtil;
 import com.jetbrains.python.testing.AbstractPythonTestRunConfiguration;
 
 import io.vedro.execution.VedroCommandLineState;
 import io.vedro.ui.editor.VedroSettingsEditorForm;
 
 public class VedroRunConfiguration extends AbstractPythonTestRunConfiguration<VedroRunConfiguration> {
-    protected String target = "";
+    public static final String DEFAULT_CONFIG_FILE_NAME = "vedro.cfg.py";
+    public static final String DEFAULT_RUNNER_OPTIONS = "-r rich pycharm --pycharm-no-output";
+
+    protected List<String> targets = List.of();
     protected String runnerOptions = "";
 
     protected String actionName = "";
     protected String suggestedName = "";
 
-    protected String configFileName = "vedro.cfg.py";
+    protected String configFileName = DEFAULT_CONFIG_FILE_NAME;
+
+    protected boolean parallel = false;
+    protected int parallelWorkers = 0;
+
+    protected boolean warmRunner = false;
+    protected boolean structuredEvents = false;
+
+    protected boolean watch = false;
 
     public VedroRunConfiguration(Project project, ConfigurationFactory factory) {
         super(project, factory);
@@ -37,12 +52,21 @@ public class VedroRunConfiguration extends AbstractPythonTestRunConfiguration<Ve
         return configFileName;
     }
 
-    public void setTarget(String target) {
-        this.target = target;
+    /**
+     * Sets the files, directories and scenarios passed to "vedro run"; an empty list runs everything
+     */
+    public void setTargets(List<String> targets) {
+        List<String> nonEmpty = new ArrayList<>();
+        for (String target : targets) {
+            if (target != null && !target.isEmpty()) {
+                nonEmpty.add(target);
+            }
+        }
+        this.targets = List.copyOf(nonEmpty);
     }
 
-    public String getTarget() {
-        return target;
+    public List<String> getTargets() {
+        return targets;
     }
 
     public void setRunnerOptions(String runnerOptions) {
@@ -53,6 +77,62 @@ public class VedroRunConfiguration extends AbstractPythonTestRunConfiguration<Ve
         return runnerOptions;
     }
 
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Gets the configured number of parallel vedro processes, 0 means one per available core
+     */
+    public int getParallelWorkers() {
+        return parallelWorkers;
+    }
+
+    public void setParallelWorkers(int parallelWorkers) {
+        this.parallelWorkers = Math.max(0, parallelWorkers);
+    }
+
+    public int getEffectiveParallelWorkers() {
+        return parallelWorkers > 0 ? parallelWorkers : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Checks if runs are forked from a pre-imported vedro process instead of a fresh interpreter
+     */
+    public boolean isWarmRunner() {
+        return warmRunner;
+    }
+
+    public void setWarmRunner(boolean warmRunner) {
+        this.warmRunner = warmRunner;
+    }
+
+    /**
+     * Checks if results are read from a JSON-lines events file instead of service messages in stdout
+     */
+    public boolean isStructuredEvents() {
+        return structuredEvents;
+    }
+
+    public void setStructuredEvents(boolean structuredEvents) {
+        this.structuredEvents = structuredEvents;
+    }
+
+    /**
+     * Checks if the run keeps watching the config root and reruns the scenario files affected by saved changes
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
     @Override
     public @Nullable
     @NlsActions.ActionText String suggestedName() {
@@ -88,11 +168,36 @@ public class VedroRunConfiguration extends AbstractPythonTestRunConfiguration<Ve
     public void writeExternal(@NotNull Element element) throws WriteExternalException {
         super.writeExternal(element);
         JDOMExternalizerUtil.writeField(element, "RUNNER_OPTIONS", runnerOptions);
+        JDOMExternalizerUtil.writeField(element, "PARALLEL", String.valueOf(parallel));
+        JDOMExternalizerUtil.writeField(element, "PARALLEL_WORKERS", String.valueOf(parallelWorkers));
+        JDOMExternalizerUtil.writeField(element, "WARM_RUNNER", String.valueOf(warmRunner));
+        JDOMExternalizerUtil.writeField(element, "STRUCTURED_EVENTS", String.valueOf(structuredEvents));
+        JDOMExternalizerUtil.writeField(element, "WATCH", String.valueOf(watch));
+
+        Element targetsElement = new Element("targets");
+        for (String target : targets) {
+            targetsElement.addContent(new Element("target").setAttribute("value", target));
+        }
+        element.addContent(targetsElement);
     }
 
     @Override
     public void readExternal(@NotNull Element element) throws InvalidDataException {
         super.readExternal(element);
         runnerOptions = JDOMExternalizerUtil.readField(element, "RUNNER_OPTIONS");
+        parallel = Boolean.parseBoolean(JDOMExternalizerUtil.readField(element, "PARALLEL"));
+        parallelWorkers = StringUtil.parseInt(JDOMExternalizerUtil.readField(element, "PARALLEL_WORKERS"), 0);
+        warmRunner = Boolean.parseBoolean(JDOMExternalizerUtil.readField(element, "WARM_RUNNER"));
+        structuredEvents = Boolean.parseBoolean(JDOMExternalizerUtil.readField(element, "STRUCTURED_EVENTS"));
+        watch = Boolean.parseBoolean(JDOMExternalizerUtil.readField(element, "WATCH"));
+
+        List<String> storedTargets = new ArrayList<>();
+        Element targetsElement = element.getChild("targets");
+        if (targetsElement != null) {
+            for (Element targetElement : targetsElement.getChildren("target")) {
+                storedTargets.add(targetElement.getAttributeValue("value"));
+            }
+        }
+        setTargets(storedTargets);
     }
 }
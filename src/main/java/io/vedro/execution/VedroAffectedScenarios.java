@@ -0,0 +1,122 @@
+package io.vedro.execution;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vcs.changes.ChangeListManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.jetbrains.python.PythonFileType;
+
+import io.vedro.config.VedroConfigRootService;
+import io.vedro.config.VedroRunConfiguration;
+import io.vedro.index.VedroImportIndex;
+import io.vedro.index.VedroScenarioIndex;
+
+/**
+ * Finds the scenario files that transitively import locally modified files
+ */
+public class VedroAffectedScenarios {
+    protected final Project project;
+    protected final VedroConfigRootService configRoots;
+    protected final GlobalSearchScope scope;
+
+    public VedroAffectedScenarios(@NotNull Project project) {
+        this.project = project;
+        this.configRoots = VedroConfigRootService.getInstance(project);
+        this.scope = GlobalSearchScope.projectScope(project);
+    }
+
+    /**
+     * Gets the Python files with unsaved changes or local VCS changes
+     */
+    @NotNull
+    public Set<VirtualFile> getModifiedFiles() {
+        Set<VirtualFile> files = new LinkedHashSet<>();
+        for (Document document : FileDocumentManager.getInstance().getUnsavedDocuments()) {
+            VirtualFile file = FileDocumentManager.getInstance().getFile(document);
+            if (file != null) {
+                files.add(file);
+            }
+        }
+        files.addAll(ChangeListManager.getInstance(project).getAffectedFiles());
+        files.removeIf(file -> !file.isValid() || file.isDirectory() || !(file.getFileType() instanceof PythonFileType));
+        return files;
+    }
+
+    /**
+     * Groups the affected scenario files by config root and converts them to targets relative to it.
+     * Must be called in a read action with indexes available.
+     */
+    @NotNull
+    public Map<Path, List<String>> getAffectedTargets(@NotNull Collection<VirtualFile> modifiedFiles) {
+        Map<Path, Set<String>> grouped = new LinkedHashMap<>();
+        for (VirtualFile file : findAffectedScenarioFiles(modifiedFiles)) {
+            Path configFile = configRoots.findConfigFile(file, VedroRunConfiguration.DEFAULT_CONFIG_FILE_NAME);
+            if (configFile == null || file.getName().equals(VedroRunConfiguration.DEFAULT_CONFIG_FILE_NAME)) {
+                continue;
+            }
+            Path configDir = configFile.getParent();
+            grouped.computeIfAbsent(configDir, dir -> new LinkedHashSet<>())
+                .add(configDir.relativize(Paths.get(file.getPath())).toString());
+        }
+
+        Map<Path, List<String>> targets = new LinkedHashMap<>();
+        grouped.forEach((dir, files) -> targets.put(dir, List.copyOf(files)));
+        return targets;
+    }
+
+    /**
+     * Walks the reverse import graph from the modified files and keeps the files that declare scenarios
+     */
+    @NotNull
+    public Set<VirtualFile> findAffectedScenarioFiles(@NotNull Collection<VirtualFile> modifiedFiles) {
+        Set<VirtualFile> visited = new HashSet<>(modifiedFiles);
+        Deque<VirtualFile> queue = new ArrayDeque<>(modifiedFiles);
+        Set<VirtualFile> scenarioFiles = new LinkedHashSet<>();
+
+        while (!queue.isEmpty()) {
+            ProgressManager.checkCanceled();
+            VirtualFile file = queue.poll();
+            if (!VedroScenarioIndex.getScenarios(project, file).isEmpty()) {
+                scenarioFiles.add(file);
+            }
+
+            for (VirtualFile importer : VedroImportIndex.getImporters(file, getImportRoots(file), scope)) {
+                if (visited.add(importer)) {
+                    queue.add(importer);
+                }
+            }
+        }
+        return scenarioFiles;
+    }
+
+    @NotNull
+    protected Set<VirtualFile> getImportRoots(@NotNull VirtualFile file) {
+        Set<VirtualFile> roots = VedroImportIndex.getImportRoots(project, file);
+        // vedro runs from the config root, so it is on sys.path as well
+        Path configFile = configRoots.findConfigFile(file, VedroRunConfiguration.DEFAULT_CONFIG_FILE_NAME);
+        if (configFile != null) {
+            VirtualFile config = file.getFileSystem().findFileByPath(configFile.toString());
+            if (config != null && config.getParent() != null) {
+                roots.add(config.getParent());
+            }
+        }
+        return roots;
+    }
+}
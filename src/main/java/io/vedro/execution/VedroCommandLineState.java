@@ -1,5 +1,8 @@
 package io.vedro.execution;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,49 +13,117 @@ import com.intellij.execution.DefaultExecutionResult;
 import com.intellij.execution.ExecutionException;
 import com.intellij.execution.ExecutionResult;
 import com.intellij.execution.Executor;
+import com.intellij.execution.executors.DefaultRunExecutor;
 import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.runners.ExecutionEnvironment;
+import com.intellij.execution.target.value.TargetEnvironmentFunctions;
+import com.intellij.execution.testframework.TestConsoleProperties;
+import com.intellij.execution.testframework.sm.SMCustomMessagesParsing;
 import com.intellij.execution.testframework.sm.SMTestRunnerConnectionUtil;
+import com.intellij.execution.testframework.sm.runner.OutputToGeneralTestEventsConverter;
 import com.intellij.execution.testframework.sm.runner.SMTRunnerConsoleProperties;
+import com.intellij.execution.testframework.sm.runner.SMTRunnerEventsListener;
+import com.intellij.execution.testframework.sm.runner.SMTestLocator;
+import com.intellij.execution.testframework.sm.runner.ui.SMTRunnerConsoleView;
 import com.intellij.execution.ui.ConsoleView;
 import com.intellij.execution.util.ProgramParametersConfigurator;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.util.ThrowableComputable;
+import com.intellij.util.ThrowableConvertor;
 import com.jetbrains.python.HelperPackage;
 import com.jetbrains.python.run.CommandLinePatcher;
 import com.jetbrains.python.run.PythonExecution;
 import com.jetbrains.python.run.PythonModuleExecution;
+import com.jetbrains.python.run.PythonScriptExecution;
 import com.jetbrains.python.run.PythonScriptTargetedCommandLineBuilder;
 import com.jetbrains.python.run.target.HelpersAwareTargetEnvironmentRequest;
+import com.jetbrains.python.sdk.PythonSdkUtil;
 import com.jetbrains.python.testing.PythonTestCommandLineStateBase;
 
 import io.vedro.config.VedroRunConfiguration;
+import io.vedro.history.VedroDurationRecorder;
 
 public class VedroCommandLineState extends PythonTestCommandLineStateBase<VedroRunConfiguration> {
+    protected final List<String> targets;
+
+    // Set when results are reported through the events runner helper instead of service messages
+    protected Path eventsFile = null;
+    protected Path eventsRunner = null;
+
     public VedroCommandLineState(VedroRunConfiguration configuration, ExecutionEnvironment environment) {
+        this(configuration, environment, configuration.getTargets());
+    }
+
+    /**
+     * Creates a state that runs the given targets instead of the configured one
+     */
+    public VedroCommandLineState(VedroRunConfiguration configuration, ExecutionEnvironment environment, List<String> targets) {
         super(configuration, environment);
+        this.targets = targets;
     }
 
     @Override
     public @Nullable ExecutionResult execute(@NotNull Executor executor, @NotNull PythonScriptTargetedCommandLineBuilder converter) throws ExecutionException {
-        ProcessHandler processHandler = startProcess(converter);
-        ConsoleView console = invokeAndWait(() -> createAndAttachConsole(myConfiguration.getProject(), processHandler, executor));
+        ProcessHandler processHandler = startVedroProcess(executor, false, state -> state.startProcess(converter));
+        ConsoleView console = invokeAndWait(() -> createVedroConsole(executor, processHandler));
 
-        return new DefaultExecutionResult(console, processHandler, createActions(console, processHandler));
+        return createExecutionResult(console, processHandler);
     }
 
     @Override
     protected @NotNull PythonExecution buildPythonExecution(@NotNull HelpersAwareTargetEnvironmentRequest helpersAwareRequest) {
+        if (eventsFile != null && eventsRunner != null) {
+            PythonScriptExecution scriptExecution = new PythonScriptExecution();
+            scriptExecution.setPythonScriptPath(TargetEnvironmentFunctions.constant(eventsRunner.toString()));
+            scriptExecution.addParameter(eventsFile.toString());
+            scriptExecution.addParameter("run");
+            scriptExecution.addParameters(getTestSpecs());
+            scriptExecution.addParameters(getRunnerParameters());
+            return scriptExecution;
+        }
+
         PythonModuleExecution moduleExecution = new PythonModuleExecution();
         moduleExecution.setModuleName("vedro");
         moduleExecution.addParameter("run");
+        moduleExecution.addParameters(getTestSpecs());
+        moduleExecution.addParameters(getRunnerParameters());
+        return moduleExecution;
+    }
+
+    protected @NotNull List<String> getRunnerParameters() {
+        List<String> parameters = ProgramParametersConfigurator.expandMacrosAndParseParameters(myConfiguration.getRunnerOptions());
+        return eventsFile != null ? withoutPycharmReporter(parameters) : parameters;
+    }
 
-        String target = myConfiguration.getTarget();
-        if (!target.isEmpty()) {
-            moduleExecution.addParameter(target);
+    /**
+     * Removes the pycharm reporter and its options, so results come only from the events file
+     */
+    protected static @NotNull List<String> withoutPycharmReporter(@NotNull List<String> parameters) {
+        List<String> result = new ArrayList<>();
+        boolean inReporters = false;
+        for (String parameter : parameters) {
+            if (parameter.startsWith("-")) {
+                inReporters = parameter.equals("-r") || parameter.equals("--reporters");
+                if (parameter.startsWith("--pycharm-")) {
+                    continue;
+                }
+            } else if (inReporters && parameter.equals("pycharm")) {
+                continue;
+            }
+            result.add(parameter);
         }
 
-        List<String> parameters = ProgramParametersConfigurator.expandMacrosAndParseParameters(myConfiguration.getRunnerOptions());
-        moduleExecution.addParameters(parameters);
-        return moduleExecution;
+        // Drop a reporters option that has no reporters left, vedro then uses its default one
+        List<String> cleaned = new ArrayList<>();
+        for (int i = 0; i < result.size(); i++) {
+            String parameter = result.get(i);
+            boolean isReporters = parameter.equals("-r") || parameter.equals("--reporters");
+            if (isReporters && (i + 1 == result.size() || result.get(i + 1).startsWith("-"))) {
+                continue;
+            }
+            cleaned.add(parameter);
+        }
+        return cleaned;
     }
 
     @Override
@@ -62,18 +133,138 @@ public class VedroCommandLineState extends PythonTestCommandLineStateBase<VedroR
 
     @Override
     public ExecutionResult execute(Executor executor, PythonProcessStarter processStarter, CommandLinePatcher... patchers) throws ExecutionException {
-        ProcessHandler process = startProcess(processStarter, patchers);
+        ProcessHandler process = startVedroProcess(executor, patchers.length > 0, state -> state.startProcess(processStarter, patchers));
+        ConsoleView console = createVedroConsole(executor, process);
+
+        return createExecutionResult(console, process);
+    }
+
+    /**
+     * Starts one process, or one process per shard when the configuration runs in parallel.
+     * A non-parallel run is forked from the warm runner when it is enabled and available.
+     * Debug, coverage and profile runs always get a single fresh interpreter that the runner can patch.
+     *
+     * @param patched true if the runner patches the command line, e.g. to attach a debugger or coverage
+     * @param starter starts the process of the given state, which is this one or the state of a shard
+     */
+    protected @NotNull ProcessHandler startVedroProcess(@NotNull Executor executor,
+                                                        boolean patched,
+                                                        @NotNull ThrowableConvertor<VedroCommandLineState, ProcessHandler, ExecutionException> starter) throws ExecutionException {
+        boolean plainRun = DefaultRunExecutor.EXECUTOR_ID.equals(executor.getId()) && !patched;
+        if (!myConfiguration.isParallel() || !plainRun) {
+            if (useStructuredEvents()) {
+                return startWithEventsFile(() -> starter.convert(this));
+            }
+            // The warm process is forked as is, so debugging, coverage and profiling need a fresh interpreter
+            ProcessHandler warmHandler = plainRun ? startWarmProcess() : null;
+            return warmHandler != null ? warmHandler : starter.convert(this);
+        }
+
+        VedroShardPlanner planner = new VedroShardPlanner(myConfiguration.getProject(), myConfiguration.getWorkingDirectorySafe());
+        List<List<String>> shards = planner.split(targets, myConfiguration.getEffectiveParallelWorkers());
+        if (shards.size() <= 1) {
+            return starter.convert(this);
+        }
+
+        List<ProcessHandler> handlers = new ArrayList<>();
+        try {
+            for (List<String> shard : shards) {
+                handlers.add(starter.convert(new VedroCommandLineState(myConfiguration, getEnvironment(), shard)));
+            }
+        } catch (ExecutionException e) {
+            for (ProcessHandler handler : handlers) {
+                handler.destroyProcess();
+            }
+            throw e;
+        }
+        return new VedroShardedProcessHandler(handlers);
+    }
 
-        SMTRunnerConsoleProperties props = new SMTRunnerConsoleProperties(getConfiguration(), "Vedro", executor) {};
+    protected boolean useStructuredEvents() {
+        // The events file is read locally, so a remote interpreter keeps using service messages
+        Sdk sdk = myConfiguration.getSdk();
+        return myConfiguration.isStructuredEvents() && (sdk == null || !PythonSdkUtil.isRemote(sdk));
+    }
+
+    protected @NotNull ProcessHandler startWithEventsFile(@NotNull ThrowableComputable<ProcessHandler, ExecutionException> starter) throws ExecutionException {
+        try {
+            eventsRunner = VedroHelpers.extract(VedroHelpers.EVENTS_RUNNER);
+            eventsFile = Files.createTempFile("vedro-events", ".jsonl");
+        } catch (IOException e) {
+            throw new ExecutionException("Cannot prepare the Vedro events file", e);
+        }
+
+        // The events converter deletes the file once it has drained it
+        return starter.compute();
+    }
+
+    protected @Nullable ProcessHandler startWarmProcess() {
+        if (!myConfiguration.isWarmRunner() || !VedroWarmRunnerService.isSupported(myConfiguration)) {
+            return null;
+        }
+
+        List<String> args = new ArrayList<>();
+        args.add("run");
+        args.addAll(getTestSpecs());
+        args.addAll(ProgramParametersConfigurator.expandMacrosAndParseParameters(myConfiguration.getRunnerOptions()));
+        return VedroWarmRunnerService.getInstance(myConfiguration.getProject()).startRun(myConfiguration, args);
+    }
+
+    protected @NotNull ConsoleView createVedroConsole(@NotNull Executor executor, @NotNull ProcessHandler processHandler) {
+        SMTRunnerConsoleProperties props = new VedroConsoleProperties(getConfiguration(), executor, eventsFile);
+        // Shard messages carry node ids, so interleaved streams still build one tree
+        props.setIdBasedTestTree(processHandler instanceof VedroShardedProcessHandler);
 
         ConsoleView console = SMTestRunnerConnectionUtil.createConsole("Vedro", props);
-        console.attachToProcess(process);
+        if (console instanceof SMTRunnerConsoleView smConsole) {
+            VedroDurationRecorder recorder = new VedroDurationRecorder(myConfiguration.getProject(),
+                smConsole.getResultsViewer().getTestsRootNode(), myConfiguration.getWorkingDirectorySafe());
+            myConfiguration.getProject().getMessageBus().connect(smConsole)
+                .subscribe(SMTRunnerEventsListener.TEST_STATUS, recorder);
+        }
+        console.attachToProcess(processHandler);
+        return console;
+    }
 
-        return new DefaultExecutionResult(console, process, createActions(console, process));
+    protected @NotNull ExecutionResult createExecutionResult(@NotNull ConsoleView console, @NotNull ProcessHandler processHandler) {
+        DefaultExecutionResult result = new DefaultExecutionResult(console, processHandler, createActions(console, processHandler));
+
+        if (console instanceof SMTRunnerConsoleView smConsole) {
+            VedroRerunFailedTestsAction rerunFailedAction = new VedroRerunFailedTestsAction(smConsole);
+            rerunFailedAction.init(smConsole.getProperties());
+            rerunFailedAction.setModelProvider(smConsole::getResultsViewer);
+            result.setRestartActions(rerunFailedAction);
+
+            if (myConfiguration.isWatch()) {
+                VedroWatchSession.start(myConfiguration, getEnvironment(), processHandler, smConsole);
+            }
+        }
+        return result;
     }
 
     @Override
     protected @NotNull List<String> getTestSpecs() {
-        return new ArrayList<>();
+        return new ArrayList<>(targets);
+    }
+
+    protected static class VedroConsoleProperties extends SMTRunnerConsoleProperties implements SMCustomMessagesParsing {
+        protected final Path eventsFile;
+
+        public VedroConsoleProperties(@NotNull VedroRunConfiguration configuration, @NotNull Executor executor, @Nullable Path eventsFile) {
+            super(configuration, "Vedro", executor);
+            this.eventsFile = eventsFile;
+        }
+
+        @Override
+        public @NotNull SMTestLocator getTestLocator() {
+            return new VedroTestLocator(((VedroRunConfiguration) getConfiguration()).getWorkingDirectorySafe());
+        }
+
+        @Override
+        public OutputToGeneralTestEventsConverter createTestEventsConverter(@NotNull String testFrameworkName, @NotNull TestConsoleProperties consoleProperties) {
+            return eventsFile != null
+                ? new VedroEventsConverter(testFrameworkName, consoleProperties, eventsFile)
+                : new OutputToGeneralTestEventsConverter(testFrameworkName, consoleProperties);
+        }
     }
 }
@@ -2,6 +2,13 @@ package io.vedro.execution;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -9,23 +16,49 @@ import org.jetbrains.annotations.Nullable;
 import com.intellij.execution.actions.ConfigurationContext;
 import com.intellij.execution.actions.LazyRunConfigurationProducer;
 import com.intellij.execution.configurations.ConfigurationFactory;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.SimpleModificationTracker;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.jetbrains.python.psi.PyCallExpression;
 import com.jetbrains.python.psi.PyClass;
 import com.jetbrains.python.psi.PyDecorator;
 import com.jetbrains.python.psi.PyFile;
 import com.jetbrains.python.psi.PyFunction;
 
+import io.vedro.config.VedroConfigRootService;
 import io.vedro.config.VedroConfigurationFactory;
 import io.vedro.config.VedroRunConfiguration;
+import io.vedro.index.VedroScenarioCounts;
+import io.vedro.index.VedroScenarioIndex;
+import io.vedro.util.VedroImportAliases;
+import io.vedro.util.VedroPerfStats;
+import io.vedro.util.VedroScenarioDetector;
+import io.vedro.util.VedroSyntaxUtils;
 import io.vedro.util.VedroTestUtils;
 
-public class VedroConfigurationProducer extends LazyRunConfigurationProducer<VedroRunConfiguration> {
+public class VedroConfigurationProducer extends LazyRunConfigurationProducer<VedroRunConfiguration> implements DumbAware {
+    // Upper bound for resolve-based setup while a menu or gutter popup is being built
+    protected static final long EDT_TIMEOUT_MS = 300;
+
+    // Contexts are short-lived, so results are held only as long as the platform holds the context
+    private final Map<ConfigurationContext, ContextTarget> contextTargets = Collections.synchronizedMap(new WeakHashMap<>());
+    // Counts finished warm-ups, so a context target set up by the syntactic fallback is replaced once resolution is warm
+    private final SimpleModificationTracker warmUps = new SimpleModificationTracker();
+
     @Override
     public @NotNull ConfigurationFactory getConfigurationFactory() {
         return VedroConfigurationFactory.getInstance();
@@ -33,12 +66,31 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
 
     @Override
     protected boolean setupConfigurationFromContext(@NotNull VedroRunConfiguration configuration, @NotNull ConfigurationContext context, @NotNull Ref<PsiElement> sourceElement) {
+        long start = VedroPerfStats.start();
+        try {
+            return setupConfigurationFromContextImpl(configuration, context, sourceElement);
+        } finally {
+            VedroPerfStats.stop(VedroPerfStats.Metric.PRODUCER_SETUP, start);
+        }
+    }
+
+    protected boolean setupConfigurationFromContextImpl(@NotNull VedroRunConfiguration configuration, @NotNull ConfigurationContext context, @NotNull Ref<PsiElement> sourceElement) {
+        if (context.containsMultipleSelection()) {
+            PsiElement[] elements = LangDataKeys.PSI_ELEMENT_ARRAY.getData(context.getDataContext());
+            if (elements != null && elements.length > 1) {
+                return setupConfigurationForSelection(configuration, elements, sourceElement);
+            }
+        }
+
         PsiElement psi = context.getPsiLocation();
         if (psi == null) {
             return false;
         }
 
-        if (!setupConfiguration(configuration, psi)) {
+        List<PsiElement> warmUp = new ArrayList<>();
+        boolean result = setupConfiguration(configuration, psi, getDeadline(), warmUp);
+        scheduleWarmUp(configuration.getProject(), warmUp);
+        if (!result) {
             return false;
         }
 
@@ -46,19 +98,159 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         return true;
     }
 
-    protected boolean setupConfiguration(@NotNull VedroRunConfiguration configuration, @NotNull PsiElement element) {
+    /**
+     * Combines several selected files, directories or scenarios into a single run.
+     * Only elements under the same config root as the first applicable one are included.
+     * The whole selection shares one {@link #EDT_TIMEOUT_MS} budget and one warm-up.
+     */
+    protected boolean setupConfigurationForSelection(@NotNull VedroRunConfiguration configuration, @NotNull PsiElement[] elements, @NotNull Ref<PsiElement> sourceElement) {
+        String workingDirectory = null;
+        Set<String> targets = new LinkedHashSet<>();
+        boolean runAll = false;
+        PsiElement first = null;
+        long deadline = getDeadline();
+        List<PsiElement> warmUp = new ArrayList<>();
+
+        for (PsiElement element : elements) {
+            ProgressManager.checkCanceled();
+            VedroRunConfiguration tmpConf = new VedroRunConfiguration(configuration.getProject(), configuration.getFactory());
+            if (!setupConfiguration(tmpConf, element, deadline, warmUp)) {
+                continue;
+            }
+            if (workingDirectory == null) {
+                workingDirectory = tmpConf.getWorkingDirectory();
+                first = element;
+            } else if (!workingDirectory.equals(tmpConf.getWorkingDirectory())) {
+                continue;
+            }
+            // An empty target is the config root itself, which already covers everything else
+            runAll |= tmpConf.getTargets().isEmpty();
+            targets.addAll(tmpConf.getTargets());
+        }
+        scheduleWarmUp(configuration.getProject(), warmUp);
+
+        if (workingDirectory == null) {
+            return false;
+        }
+
+        updateConfiguration(configuration, Paths.get(workingDirectory), runAll ? List.of() : new ArrayList<>(targets));
+        sourceElement.set(first);
+        return true;
+    }
+
+    /**
+     * Gets the time until which resolve-based setup may run on the EDT for the current context
+     */
+    protected static long getDeadline() {
+        return System.currentTimeMillis() + EDT_TIMEOUT_MS;
+    }
+
+    /**
+     * Rejects elements that cannot be scenarios without resolving anything.
+     * On the EDT the resolve-based setup runs until the deadline; after it, scenario names are matched
+     * syntactically and the element is added to the ones to warm up in the background for next time.
+     */
+    protected boolean setupConfiguration(@NotNull VedroRunConfiguration configuration, @NotNull PsiElement element,
+                                         long deadline, @NotNull List<PsiElement> warmUp) {
+        if (!mayBeVedroElement(element)) {
+            return false;
+        }
+        // In dumb mode the checks are syntactic and cheap
+        if (DumbService.isDumb(configuration.getProject()) || !ApplicationManager.getApplication().isDispatchThread()) {
+            return setupConfigurationResolved(configuration, element);
+        }
+
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining > 0) {
+            Boolean result = ProgressIndicatorUtils.withTimeout(remaining, () -> setupConfigurationResolved(configuration, element));
+            if (result != null) {
+                return result;
+            }
+        }
+
+        warmUp.add(element);
+        return setupConfigurationSyntactic(configuration, element);
+    }
+
+    protected boolean mayBeVedroElement(@NotNull PsiElement element) {
+        if (element.getFirstChild() == null) {
+            PsiElement parent = element.getParent();
+            if (parent instanceof PyClass cls && element.equals(cls.getNameIdentifier())) {
+                // Base classes may come from any module, so only a class without bases is rejected
+                return cls.getSuperClassExpressions().length > 0;
+            }
+            if (parent instanceof PyFunction fn && element.equals(fn.getNameIdentifier())) {
+                return VedroSyntaxUtils.isScenarioFunction(fn, VedroImportAliases.of(fn));
+            }
+            return false;
+        }
+
+        if (element instanceof PyFile || element instanceof PsiDirectory) {
+            return true;
+        }
+        if (element instanceof PyDecorator dec) {
+            return VedroSyntaxUtils.isDecoratorNamed(dec, VedroTestUtils.PARAMS_DECORATOR, VedroImportAliases.of(dec));
+        }
+        if (element instanceof PyCallExpression call) {
+            return VedroSyntaxUtils.isParamsCall(call, VedroImportAliases.of(call));
+        }
+        return false;
+    }
+
+    /**
+     * Fallback for the EDT when resolution takes too long: scenario names only, params positions need resolution
+     */
+    protected boolean setupConfigurationSyntactic(@NotNull VedroRunConfiguration configuration, @NotNull PsiElement element) {
+        PsiElement parent = element.getParent();
+        if (parent instanceof PyClass cls
+            && element.equals(cls.getNameIdentifier())
+            && VedroSyntaxUtils.isScenarioClass(cls, VedroImportAliases.of(cls))) {
+            return setupConfigurationForPyClass(configuration, cls);
+        }
+        if (parent instanceof PyFunction fn
+            && element.equals(fn.getNameIdentifier())
+            && VedroSyntaxUtils.isScenarioFunction(fn, VedroImportAliases.of(fn))) {
+            return setupConfigurationForPyFunction(configuration, fn);
+        }
+        return false;
+    }
+
+    protected void scheduleWarmUp(@NotNull Project project, @NotNull List<PsiElement> elements) {
+        if (elements.isEmpty()) {
+            return;
+        }
+        List<PsiElement> copy = List.copyOf(elements);
+        ReadAction.nonBlocking(() -> warmUp(project, copy))
+            .expireWith(project)
+            .coalesceBy(this, copy)
+            .submit(AppExecutorUtil.getAppExecutorService())
+            .onSuccess(result -> warmUps.incModificationCount());
+    }
+
+    protected boolean warmUp(@NotNull Project project, @NotNull List<PsiElement> elements) {
+        for (PsiElement element : elements) {
+            ProgressManager.checkCanceled();
+            setupConfigurationResolved(new VedroRunConfiguration(project, getConfigurationFactory()), element);
+        }
+        return true;
+    }
+
+    protected boolean setupConfigurationResolved(@NotNull VedroRunConfiguration configuration, @NotNull PsiElement element) {
+        if (!element.isValid()) {
+            return false;
+        }
         if (element.getFirstChild() == null) {
             PsiElement parent = element.getParent();
 
             if (parent instanceof PyClass cls
                 && element.equals(cls.getNameIdentifier())
-                && VedroTestUtils.isScenarioClass(cls)) {
+                && VedroScenarioDetector.isScenarioClass(cls)) {
                 return setupConfigurationForPyClass(configuration, cls);
             }
 
             if (parent instanceof PyFunction fn
                 && element.equals(fn.getNameIdentifier())
-                && VedroTestUtils.isScenarioFunction(fn)) {
+                && VedroScenarioDetector.isScenarioFunction(fn)) {
                 return setupConfigurationForPyFunction(configuration, fn);
             }
 
@@ -73,11 +265,11 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         }
 
         if (element instanceof PyDecorator dec
-            && VedroTestUtils.isParamsDecorator(dec)) {
+            && VedroScenarioDetector.isParamsDecorator(dec)) {
             return setupConfigurationForPyDecorator(configuration, dec);
         }
         if (element instanceof PyCallExpression call
-            && VedroTestUtils.isParamsCall(call)) {
+            && VedroScenarioDetector.isParamsCall(call)) {
             return setupConfigurationForParamsCall(configuration, call);
         }
 
@@ -91,7 +283,7 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         }
         Path filePath = Paths.get(file.getPath());
 
-        Path configFile = findConfigFile(file, configuration.getProject().getBasePath(), configuration.getConfigFileName());
+        Path configFile = findConfigFile(configuration.getProject(), file, configuration.getConfigFileName());
         if (configFile == null) {
             return false;
         }
@@ -99,6 +291,9 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         if (file.getName().equals(configuration.getConfigFileName())) {
             return false;
         }
+        if (!containsScenarios(element)) {
+            return false; // Helpers, contexts and interfaces have nothing to run
+        }
 
         Path configDir = configFile.getParent();
         if (!filePath.startsWith(configDir)) {
@@ -124,7 +319,7 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         }
         Path dirPath = Paths.get(dir.getPath());
 
-        Path configFile = findConfigFile(dir, configuration.getProject().getBasePath(), configuration.getConfigFileName());
+        Path configFile = findConfigFile(configuration.getProject(), dir, configuration.getConfigFileName());
         if (configFile == null) {
             return false;
         }
@@ -133,6 +328,9 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         if (!dirPath.startsWith(configDir)) {
             return false; // Directory is not inside or equal to config directory
         }
+        if (!containsScenarios(configuration.getProject(), dir)) {
+            return false;
+        }
 
         String target = configDir.relativize(dirPath).toString();
         updateConfiguration(configuration, configDir, target);
@@ -154,7 +352,7 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         VirtualFile file = element.getContainingFile().getVirtualFile();
         Path filePath = Paths.get(file.getPath());
 
-        Path configFile = findConfigFile(file, configuration.getProject().getBasePath(), configuration.getConfigFileName());        
+        Path configFile = findConfigFile(configuration.getProject(), file, configuration.getConfigFileName());        
         Path workingDir = (configFile != null) ? configFile.getParent() : Paths.get(configuration.getWorkingDirectorySafe());
         String target = workingDir.relativize(filePath).toString();
 
@@ -165,7 +363,7 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
 
     protected boolean setupConfigurationForPyDecorator(@NotNull VedroRunConfiguration configuration, @NotNull PyDecorator element) {
         String clsName = VedroTestUtils.getClassName(element);
-        int decoratorIndex = VedroTestUtils.getParamsDecoratorIndex(element);
+        int decoratorIndex = VedroScenarioDetector.getParamsIndex(element);
         if (clsName == null || decoratorIndex == -1) {
             return false;
         }
@@ -173,7 +371,7 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         VirtualFile file = element.getContainingFile().getVirtualFile();
         Path filePath = Paths.get(file.getPath());
 
-        Path configFile = findConfigFile(file, configuration.getProject().getBasePath(), configuration.getConfigFileName());
+        Path configFile = findConfigFile(configuration.getProject(), file, configuration.getConfigFileName());
         Path workingDir = (configFile != null) ? configFile.getParent() : Paths.get(configuration.getWorkingDirectorySafe());
         String target = workingDir.relativize(filePath).toString();
 
@@ -191,7 +389,7 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         VirtualFile file = element.getContainingFile().getVirtualFile();
         Path filePath = Paths.get(file.getPath());
 
-        Path configFile = findConfigFile(file, configuration.getProject().getBasePath(), configuration.getConfigFileName());
+        Path configFile = findConfigFile(configuration.getProject(), file, configuration.getConfigFileName());
         Path workingDir = (configFile != null) ? configFile.getParent() : Paths.get(configuration.getWorkingDirectorySafe());
         String target = workingDir.relativize(filePath).toString();
 
@@ -206,7 +404,7 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
             return false;
         }
 
-        int callIndex = VedroTestUtils.getParamsCallIndex(call);
+        int callIndex = VedroScenarioDetector.getParamsIndex(call);
         if (callIndex == -1) {
             return false;
         }
@@ -214,7 +412,7 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         VirtualFile file = function.getContainingFile().getVirtualFile();
         Path filePath = Paths.get(file.getPath());
 
-        Path configFile = findConfigFile(file, configuration.getProject().getBasePath(), configuration.getConfigFileName());
+        Path configFile = findConfigFile(configuration.getProject(), file, configuration.getConfigFileName());
         Path workingDir = (configFile != null) ? configFile.getParent() : Paths.get(configuration.getWorkingDirectorySafe());
         String target = workingDir.relativize(filePath).toString();
 
@@ -224,10 +422,14 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
     }
 
     protected void updateConfiguration(@NotNull VedroRunConfiguration configuration, @NotNull Path workingDirectory, @NotNull String target) {
+        updateConfiguration(configuration, workingDirectory, List.of(target));
+    }
+
+    protected void updateConfiguration(@NotNull VedroRunConfiguration configuration, @NotNull Path workingDirectory, @NotNull List<String> targets) {
         configuration.setWorkingDirectory(workingDirectory.toString());
-        configuration.setTarget(target);
+        configuration.setTargets(targets);
 
-        configuration.setRunnerOptions("-r rich pycharm --pycharm-no-output");
+        configuration.setRunnerOptions(VedroRunConfiguration.DEFAULT_RUNNER_OPTIONS);
 
         configuration.setSuggestedName(getSuggestedName(configuration.getProject(), workingDirectory));
         configuration.setActionName("Vedro scenario(s)");
@@ -235,40 +437,79 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
 
     @Override
     public boolean isConfigurationFromContext(@NotNull VedroRunConfiguration configuration, @NotNull ConfigurationContext context) {
-        PsiElement psi = context.getPsiLocation();
-        if (psi == null) {
-            return false;
+        long start = VedroPerfStats.start();
+        try {
+            ContextTarget contextTarget = getContextTarget(configuration, context);
+            if (contextTarget.targets == null) {
+                return false;
+            }
+
+            return contextTarget.workingDirectory.equals(configuration.getWorkingDirectory())
+                && contextTarget.targets.equals(configuration.getTargets());
+        } finally {
+            VedroPerfStats.stop(VedroPerfStats.Metric.PRODUCER_IS_FROM_CONTEXT, start);
         }
+    }
 
-        VedroRunConfiguration tmpConf = new VedroRunConfiguration(configuration.getProject(), configuration.getFactory());
-        if (!setupConfiguration(tmpConf, psi)) {
-            return false;
+    /**
+     * Evaluates the context once and reuses the result for every existing configuration it is compared with
+     */
+    @NotNull
+    protected ContextTarget getContextTarget(@NotNull VedroRunConfiguration configuration, @NotNull ConfigurationContext context) {
+        // Results computed in dumb mode or by the EDT fallback are syntactic,
+        // so leaving dumb mode or finishing a warm-up invalidates them as well
+        Project project = configuration.getProject();
+        long modificationCount = PsiModificationTracker.getInstance(project).getModificationCount()
+            + DumbService.getInstance(project).getModificationTracker().getModificationCount()
+            + warmUps.getModificationCount();
+
+        ContextTarget cached = contextTargets.get(context);
+        if (cached != null && cached.modificationCount == modificationCount) {
+            VedroPerfStats.hit(VedroPerfStats.Cache.CONTEXT_TARGET);
+            return cached;
         }
+        VedroPerfStats.miss(VedroPerfStats.Cache.CONTEXT_TARGET);
 
-        if (!configuration.getWorkingDirectory().equals(tmpConf.getWorkingDirectory())) {
-            return false;
+        ContextTarget contextTarget = new ContextTarget(null, null, modificationCount);
+        VedroRunConfiguration tmpConf = new VedroRunConfiguration(configuration.getProject(), configuration.getFactory());
+        if (setupConfigurationFromContext(tmpConf, context, new Ref<>())) {
+            contextTarget = new ContextTarget(tmpConf.getWorkingDirectory(), tmpConf.getTargets(), modificationCount);
         }
 
-        // Move to findExistingConfiguration
-        configuration.setTarget(tmpConf.getTarget());
-        return true;
+        contextTargets.put(context, contextTarget);
+        return contextTarget;
     }
 
-    @Nullable
-    protected Path findConfigFile(VirtualFile file, String projectPath, String configFileName) {
-        if (file.isDirectory()) {
-            VirtualFile[] children = file.getChildren();
-            for (VirtualFile child : children) {
-                if (child.getName().equals(configFileName)) {
-                    return Paths.get(child.getPath());
-                }
-            }
+    /**
+     * Checks through the scenario index if a file has scenarios, without walking it.
+     * Classes with imported bases the syntactic index rules do not recognise are checked by resolution there.
+     */
+    protected boolean containsScenarios(@NotNull PyFile file) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile == null || DumbService.isDumb(file.getProject())) {
+            return true;
         }
-        VirtualFile parent = file.getParent();
-        if (parent == null || file.getPath().equals(projectPath)) {
-            return null;
+        return !VedroScenarioIndex.getScenarios(file.getProject(), virtualFile).isEmpty();
+    }
+
+    /**
+     * Checks through the aggregated directory counts if a directory has scenarios, without walking it.
+     * The scenario index is queried only until the counts are built; while indexing a run is still offered.
+     */
+    protected boolean containsScenarios(@NotNull Project project, @NotNull VirtualFile dir) {
+        VedroScenarioCounts counts = VedroScenarioCounts.getInstance(project);
+        if (counts.isBuilt()) {
+            return counts.getCounts(dir) != null;
+        }
+        if (DumbService.isDumb(project)) {
+            return true;
         }
-        return findConfigFile(parent, projectPath, configFileName);
+        return VedroScenarioIndex.containsScenarios(project, GlobalSearchScopesCore.directoryScope(project, dir, true));
+    }
+
+    @Nullable
+    protected Path findConfigFile(@NotNull Project project, @NotNull VirtualFile file, @NotNull String configFileName) {
+        return VedroConfigRootService.getInstance(project).findConfigFile(file, configFileName);
     }
 
     protected static @NotNull String getSuggestedName(@NotNull Project project, @NotNull Path workingDir) {
@@ -276,4 +517,17 @@ public class VedroConfigurationProducer extends LazyRunConfigurationProducer<Ved
         String rel = projectRoot.relativize(workingDir).toString();
         return "Vedro scenarios in '" + (rel.isEmpty() ? "./" : rel) + "'";
     }
+
+    protected static final class ContextTarget {
+        // Both are null when the context does not produce a Vedro configuration
+        final String workingDirectory;
+        final List<String> targets;
+        final long modificationCount;
+
+        ContextTarget(@Nullable String workingDirectory, @Nullable List<String> targets, long modificationCount) {
+            this.workingDirectory = workingDirectory;
+            this.targets = targets;
+            this.modificationCount = modificationCount;
+        }
+    }
 }
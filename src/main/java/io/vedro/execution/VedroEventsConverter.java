@@ -0,0 +1,210 @@
+package io.vedro.execution;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.intellij.execution.testframework.TestConsoleProperties;
+import com.intellij.execution.testframework.sm.runner.GeneralTestEventsProcessor;
+import com.intellij.execution.testframework.sm.runner.OutputToGeneralTestEventsConverter;
+import com.intellij.execution.testframework.sm.runner.events.TestFailedEvent;
+import com.intellij.execution.testframework.sm.runner.events.TestFinishedEvent;
+import com.intellij.execution.testframework.sm.runner.events.TestIgnoredEvent;
+import com.intellij.execution.testframework.sm.runner.events.TestStartedEvent;
+import com.intellij.execution.testframework.sm.runner.events.TestSuiteFinishedEvent;
+import com.intellij.execution.testframework.sm.runner.events.TestSuiteStartedEvent;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.io.FileUtil;
+
+/**
+ * Builds the test tree from the JSON-lines file written by the events runner helper instead of stdout service messages.
+ * The file is tailed while the process runs, drained completely when it terminates and then deleted.
+ * Scenarios are grouped into one suite per file, in the order vedro runs them.
+ */
+public class VedroEventsConverter extends OutputToGeneralTestEventsConverter {
+    private static final Logger LOG = Logger.getInstance(VedroEventsConverter.class);
+    private static final long POLL_INTERVAL_MS = 50;
+
+    protected final Path eventsFile;
+
+    // scenario id -> node name, to finish the node that was started for it
+    protected final Map<String, String> startedNames = new HashMap<>();
+    protected String currentSuite = null;
+
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private long position = 0;
+    private volatile boolean stopped = false;
+    private Future<?> tailer = null;
+
+    public VedroEventsConverter(@NotNull String testFrameworkName,
+                                @NotNull TestConsoleProperties consoleProperties,
+                                @NotNull Path eventsFile) {
+        super(testFrameworkName, consoleProperties);
+        this.eventsFile = eventsFile;
+    }
+
+    @Override
+    public void onStartTesting() {
+        super.onStartTesting();
+        tailer = ApplicationManager.getApplication().executeOnPooledThread(this::tail);
+    }
+
+    @Override
+    public void flushBufferOnProcessTermination(int exitCode) {
+        stopped = true;
+        if (tailer != null) {
+            try {
+                tailer.get(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                LOG.debug(e);
+            }
+        }
+        readAvailable();
+        closeSuite();
+        FileUtil.delete(eventsFile.toFile());
+        super.flushBufferOnProcessTermination(exitCode);
+    }
+
+    protected void tail() {
+        while (!stopped) {
+            readAvailable();
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Processes complete lines appended since the last read
+     */
+    protected synchronized void readAvailable() {
+        try (RandomAccessFile file = new RandomAccessFile(eventsFile.toFile(), "r")) {
+            byte[] chunk = new byte[64 * 1024];
+            file.seek(position);
+            int read;
+            while ((read = file.read(chunk)) > 0) {
+                position += read;
+                // A read may end in the middle of a line or a multi-byte character, so lines are decoded once complete
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (chunk[i] == '\n') {
+                        partialLine.write(chunk, lineStart, i - lineStart);
+                        processLine(partialLine.toString(StandardCharsets.UTF_8));
+                        partialLine.reset();
+                        lineStart = i + 1;
+                    }
+                }
+                partialLine.write(chunk, lineStart, read - lineStart);
+            }
+        } catch (IOException e) {
+            LOG.debug("Cannot read Vedro events from " + eventsFile, e);
+        }
+    }
+
+    protected void processLine(@NotNull String line) {
+        if (line.isBlank()) {
+            return;
+        }
+        JsonObject event;
+        try {
+            JsonElement element = JsonParser.parseString(line);
+            if (!element.isJsonObject()) {
+                return;
+            }
+            event = element.getAsJsonObject();
+        } catch (JsonParseException e) {
+            LOG.debug("Malformed Vedro event: " + line, e);
+            return;
+        }
+
+        GeneralTestEventsProcessor processor = getProcessor();
+        if (processor == null) {
+            return;
+        }
+
+        String id = getString(event, "id");
+        switch (String.valueOf(getString(event, "e"))) {
+            case "started" -> {
+                String name = startNode(processor, event);
+                startedNames.put(id, name);
+            }
+            case "passed" -> {
+                String name = startedNames.remove(id);
+                if (name != null) {
+                    processor.onTestFinished(new TestFinishedEvent(name, getLong(event, "ms")));
+                }
+            }
+            case "failed" -> {
+                String name = startedNames.remove(id);
+                if (name != null) {
+                    processor.onTestFailure(new TestFailedEvent(name, getString(event, "msg"), getString(event, "details"), false, null, null));
+                    processor.onTestFinished(new TestFinishedEvent(name, getLong(event, "ms")));
+                }
+            }
+            case "skipped" -> {
+                // Skipped scenarios are never started by vedro
+                String name = startNode(processor, event);
+                processor.onTestIgnored(new TestIgnoredEvent(name, "", null));
+                processor.onTestFinished(new TestFinishedEvent(name, 0L));
+            }
+            default -> {
+            }
+        }
+    }
+
+    @NotNull
+    protected String startNode(@NotNull GeneralTestEventsProcessor processor, @NotNull JsonObject event) {
+        String loc = String.valueOf(getString(event, "loc"));
+        String name = getString(event, "name");
+        if (name == null) {
+            name = loc;
+        }
+
+        int separator = loc.indexOf("::");
+        String suite = separator > 0 ? loc.substring(0, separator) : null;
+        if (suite != null && !suite.equals(currentSuite)) {
+            closeSuite();
+            currentSuite = suite;
+            processor.onSuiteStarted(new TestSuiteStartedEvent(suite, VedroTestTargets.PROTOCOL + "://" + suite));
+        }
+
+        processor.onTestStarted(new TestStartedEvent(name, VedroTestTargets.toLocationUrl(loc)));
+        return name;
+    }
+
+    protected void closeSuite() {
+        GeneralTestEventsProcessor processor = getProcessor();
+        if (currentSuite != null && processor != null) {
+            processor.onSuiteFinished(new TestSuiteFinishedEvent(currentSuite));
+        }
+        currentSuite = null;
+    }
+
+    @Nullable
+    private static String getString(@NotNull JsonObject event, @NotNull String key) {
+        JsonElement value = event.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+
+    @Nullable
+    private static Long getLong(@NotNull JsonObject event, @NotNull String key) {
+        JsonElement value = event.get(key);
+        return value == null || value.isJsonNull() ? null : value.getAsLong();
+    }
+}
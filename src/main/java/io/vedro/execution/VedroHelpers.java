@@ -0,0 +1,37 @@
+package io.vedro.execution;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.openapi.application.PathManager;
+
+/**
+ * Python helper scripts shipped in the plugin resources and copied to the IDE system directory before use
+ */
+public class VedroHelpers {
+    public static final String WARM_RUNNER = "vedro_warm_runner.py";
+    public static final String EVENTS_RUNNER = "vedro_events_runner.py";
+
+    /**
+     * Gets a local path of the helper, refreshing the copy so it always matches the installed plugin
+     */
+    @NotNull
+    public static synchronized Path extract(@NotNull String name) throws IOException {
+        Path script = Paths.get(PathManager.getSystemPath(), "vedro", name);
+        String resource = "/helpers/" + name;
+        try (InputStream in = VedroHelpers.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Missing resource " + resource);
+            }
+            Files.createDirectories(script.getParent());
+            Files.copy(in, script, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return script;
+    }
+}
@@ -0,0 +1,65 @@
+package io.vedro.execution;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.execution.Executor;
+import com.intellij.execution.configurations.RunProfileState;
+import com.intellij.execution.runners.ExecutionEnvironment;
+import com.intellij.execution.testframework.AbstractTestProxy;
+import com.intellij.execution.testframework.actions.AbstractRerunFailedTestsAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.ui.ComponentContainer;
+
+import io.vedro.config.VedroRunConfiguration;
+
+/**
+ * Runs only the failed scenarios of the last run in a single vedro process
+ */
+public class VedroRerunFailedTestsAction extends AbstractRerunFailedTestsAction {
+    public VedroRerunFailedTestsAction(@NotNull ComponentContainer componentContainer) {
+        super(componentContainer);
+        getTemplatePresentation().setText("Rerun Failed Vedro Scenarios");
+    }
+
+    @Override
+    protected @Nullable MyRunProfile getRunProfile(@NotNull ExecutionEnvironment environment) {
+        if (!(myConsoleProperties.getConfiguration() instanceof VedroRunConfiguration configuration)) {
+            return null;
+        }
+
+        List<String> targets = getFailedTargets(configuration);
+        if (targets.isEmpty()) {
+            return null;
+        }
+
+        return new MyRunProfile(configuration) {
+            @Override
+            public Module @NotNull [] getModules() {
+                return configuration.getModules();
+            }
+
+            @Override
+            public @Nullable RunProfileState getState(@NotNull Executor executor, @NotNull ExecutionEnvironment env) {
+                return new VedroCommandLineState(configuration, env, targets);
+            }
+        };
+    }
+
+    @NotNull
+    protected List<String> getFailedTargets(@NotNull VedroRunConfiguration configuration) {
+        Set<String> targets = new LinkedHashSet<>();
+        for (AbstractTestProxy test : getFailedTests(configuration.getProject())) {
+            String target = VedroTestTargets.fromLocationUrl(test.getLocationUrl(), configuration.getWorkingDirectory());
+            if (target != null) {
+                targets.add(target);
+            }
+        }
+        return new ArrayList<>(targets);
+    }
+}
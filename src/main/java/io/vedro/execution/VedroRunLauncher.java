@@ -0,0 +1,45 @@
+package io.vedro.execution;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.execution.RunManager;
+import com.intellij.execution.RunnerAndConfigurationSettings;
+import com.intellij.execution.executors.DefaultRunExecutor;
+import com.intellij.execution.runners.ExecutionUtil;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+
+import io.vedro.config.VedroConfigurationFactory;
+import io.vedro.config.VedroRunConfiguration;
+
+/**
+ * Starts a temporary Vedro run configuration for targets computed outside of a run context
+ */
+public class VedroRunLauncher {
+    /**
+     * Runs the targets relative to the working directory with the default runner options
+     */
+    public static void run(@NotNull Project project,
+                           @NotNull Path workingDirectory,
+                           @NotNull List<String> targets,
+                           @Nullable Module module,
+                           @NotNull String name) {
+        RunnerAndConfigurationSettings settings = RunManager.getInstance(project)
+            .createConfiguration(name, VedroConfigurationFactory.getInstance());
+        settings.setTemporary(true);
+
+        VedroRunConfiguration configuration = (VedroRunConfiguration) settings.getConfiguration();
+        configuration.setWorkingDirectory(workingDirectory.toString());
+        configuration.setTargets(targets);
+        configuration.setRunnerOptions(VedroRunConfiguration.DEFAULT_RUNNER_OPTIONS);
+        if (module != null) {
+            configuration.setModule(module);
+        }
+
+        ExecutionUtil.runConfiguration(settings, DefaultRunExecutor.getRunExecutorInstance());
+    }
+}
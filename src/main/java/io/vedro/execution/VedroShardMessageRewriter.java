@@ -0,0 +1,158 @@
+package io.vedro.execution;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import jetbrains.buildServer.messages.serviceMessages.ServiceMessage;
+
+/**
+ * Gives service messages of one shard tree ids that are unique across all shards,
+ * so that interleaved streams build a single id-based test tree
+ */
+public class VedroShardMessageRewriter {
+    protected static final String ROOT_NODE_ID = "0";
+    public static final String TESTING_STARTED = "testingStarted";
+    public static final String TESTING_FINISHED = "testingFinished";
+
+    protected final String prefix;
+    protected final List<Node> running = new ArrayList<>();
+    protected int nextId = 1;
+
+    public VedroShardMessageRewriter(int shard) {
+        this.prefix = (shard + 1) + ".";
+    }
+
+    /**
+     * Rewrites a single line of output; lines that are not service messages are returned unchanged
+     */
+    @NotNull
+    public String rewrite(@NotNull String line) {
+        String text = line.trim();
+        if (!text.startsWith(ServiceMessage.SERVICE_MESSAGE_START)) {
+            return line;
+        }
+
+        ServiceMessage message;
+        try {
+            message = ServiceMessage.parse(text);
+        } catch (ParseException e) {
+            return line;
+        }
+        if (message == null) {
+            return line;
+        }
+
+        String name = message.getMessageName();
+        if (name.equals(TESTING_STARTED) || name.equals(TESTING_FINISHED)) {
+            // Reported once for all shards by the sharded process handler
+            return "";
+        }
+        Map<String, String> attributes = new LinkedHashMap<>(message.getAttributes());
+        if (attributes.containsKey("nodeId")) {
+            attributes.put("nodeId", prefixed(attributes.get("nodeId")));
+            if (attributes.containsKey("parentNodeId")) {
+                attributes.put("parentNodeId", prefixed(attributes.get("parentNodeId")));
+            }
+            return format(name, attributes);
+        }
+
+        String testName = attributes.get("name");
+        switch (name) {
+            case "testSuiteStarted", "testStarted" -> {
+                start(testName, name.equals("testSuiteStarted"), attributes);
+                return format(name, attributes);
+            }
+            case "testSuiteFinished", "testFinished" -> {
+                Node node = find(testName, name.equals("testSuiteFinished"));
+                if (node == null) {
+                    return line;
+                }
+                running.remove(node);
+                attributes.put("nodeId", node.id);
+                return format(name, attributes);
+            }
+            case "testFailed", "testIgnored", "testStdOut", "testStdErr" -> {
+                Node node = find(testName, false);
+                if (node != null) {
+                    attributes.put("nodeId", node.id);
+                    return format(name, attributes);
+                }
+                if (name.equals("testStdOut") || name.equals("testStdErr")) {
+                    attributes.put("nodeId", ROOT_NODE_ID);
+                    return format(name, attributes);
+                }
+                // A failed or ignored test may be reported without being started, it gets a node of its own
+                Map<String, String> started = new LinkedHashMap<>();
+                started.put("name", testName);
+                Node orphan = start(testName, false, started);
+                running.remove(orphan);
+                attributes.put("nodeId", orphan.id);
+
+                Map<String, String> finished = new LinkedHashMap<>();
+                finished.put("name", testName);
+                finished.put("nodeId", orphan.id);
+                return format("testStarted", started) + format(name, attributes) + format("testFinished", finished);
+            }
+            default -> {
+                return line;
+            }
+        }
+    }
+
+    @NotNull
+    protected Node start(@Nullable String name, boolean suite, @NotNull Map<String, String> attributes) {
+        Node parent = null;
+        for (int i = running.size() - 1; i >= 0; i--) {
+            if (running.get(i).suite) {
+                parent = running.get(i);
+                break;
+            }
+        }
+        Node node = new Node(name, prefix + nextId++, suite);
+        running.add(node);
+
+        attributes.put("nodeId", node.id);
+        attributes.put("parentNodeId", parent != null ? parent.id : ROOT_NODE_ID);
+        return node;
+    }
+
+    @Nullable
+    protected Node find(@Nullable String name, boolean suite) {
+        for (int i = running.size() - 1; i >= 0; i--) {
+            Node node = running.get(i);
+            if (node.suite == suite && Objects.equals(node.name, name)) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    protected String prefixed(@Nullable String id) {
+        return (id == null || id.equals(ROOT_NODE_ID)) ? ROOT_NODE_ID : prefix + id;
+    }
+
+    @NotNull
+    protected static String format(@NotNull String name, @NotNull Map<String, String> attributes) {
+        return ServiceMessage.asString(name, attributes) + "\n";
+    }
+
+    protected static final class Node {
+        final String name;
+        final String id;
+        final boolean suite;
+
+        Node(@Nullable String name, @NotNull String id, boolean suite) {
+            this.name = name;
+            this.id = id;
+            this.suite = suite;
+        }
+    }
+}
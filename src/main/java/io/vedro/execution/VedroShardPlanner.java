@@ -0,0 +1,145 @@
+package io.vedro.execution;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.jetbrains.python.PythonFileType;
+
+import io.vedro.index.VedroScenarioIndex;
+import io.vedro.index.VedroScenarioInfo;
+
+/**
+ * Splits run targets into shards of roughly equal numbers of scenario cases
+ */
+public class VedroShardPlanner {
+    protected static final String DEFAULT_SCENARIOS_DIR = "scenarios";
+
+    protected final Project project;
+    protected final Path workingDirectory;
+
+    public VedroShardPlanner(@NotNull Project project, @NotNull String workingDirectory) {
+        this.project = project;
+        this.workingDirectory = Paths.get(workingDirectory);
+    }
+
+    /**
+     * Splits targets into at most the given number of non-empty shards
+     */
+    @NotNull
+    public List<List<String>> split(@NotNull List<String> targets, int shardCount) {
+        Map<String, Integer> weights = ReadAction.compute(() -> expand(targets));
+
+        List<Map.Entry<String, Integer>> items = new ArrayList<>(weights.entrySet());
+        items.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+
+        int count = Math.max(1, Math.min(shardCount, items.size()));
+        List<List<String>> shards = new ArrayList<>();
+        long[] loads = new long[count];
+        for (int i = 0; i < count; i++) {
+            shards.add(new ArrayList<>());
+        }
+
+        // Longest-first greedy assignment to the least loaded shard
+        for (Map.Entry<String, Integer> item : items) {
+            int lightest = 0;
+            for (int i = 1; i < count; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            shards.get(lightest).add(item.getKey());
+            loads[lightest] += item.getValue();
+        }
+
+        shards.removeIf(List::isEmpty);
+        return shards;
+    }
+
+    /**
+     * Expands directory targets to the Python files vedro would load from them, weighted by the number of cases.
+     * Files the index lists no scenarios for still run as units of weight 1, so sharding never drops a file
+     * the unsharded run would load. Targets that cannot be expanded are kept as a single unit.
+     */
+    @NotNull
+    protected Map<String, Integer> expand(@NotNull List<String> targets) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        boolean indexReady = !DumbService.isDumb(project);
+
+        if (targets.isEmpty()) {
+            // Without targets vedro runs its default scenarios directory
+            Map<String, Integer> expanded = indexReady ? expandDirectory(DEFAULT_SCENARIOS_DIR) : null;
+            return expanded != null ? expanded : Map.of("", 1);
+        }
+
+        for (String target : targets) {
+            VirtualFile file = target.contains("::") ? null : LocalFileSystem.getInstance().findFileByNioFile(workingDirectory.resolve(target));
+            if (file == null || !indexReady) {
+                weights.merge(target, 1, Integer::sum);
+                continue;
+            }
+
+            if (!file.isDirectory()) {
+                weights.merge(target, getCaseCount(VedroScenarioIndex.getScenarios(project, file)), Integer::sum);
+                continue;
+            }
+
+            Map<String, Integer> expanded = expandDirectory(target);
+            if (expanded == null) {
+                weights.merge(target, 1, Integer::sum);
+                continue;
+            }
+            expanded.forEach((path, weight) -> weights.merge(path, weight, Integer::sum));
+        }
+        return weights;
+    }
+
+    /**
+     * Gets the Python files of a directory target except hidden and dunder ones, as vedro skips those,
+     * or null if the directory is missing or has no such files
+     */
+    @Nullable
+    protected Map<String, Integer> expandDirectory(@NotNull String target) {
+        VirtualFile dir = LocalFileSystem.getInstance().findFileByNioFile(workingDirectory.resolve(target));
+        if (dir == null || !dir.isDirectory()) {
+            return null;
+        }
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        VfsUtilCore.iterateChildrenRecursively(dir, child -> !isSkipped(child.getName()), child -> {
+            ProgressManager.checkCanceled();
+            if (!child.isDirectory() && child.getFileType() instanceof PythonFileType) {
+                String relativePath = workingDirectory.relativize(Paths.get(child.getPath())).toString();
+                weights.put(relativePath, getCaseCount(VedroScenarioIndex.getScenarios(project, child)));
+            }
+            return true;
+        });
+        return weights.isEmpty() ? null : weights;
+    }
+
+    protected static boolean isSkipped(@NotNull String name) {
+        return name.startsWith(".") || name.startsWith("__");
+    }
+
+    protected static int getCaseCount(@NotNull List<VedroScenarioInfo> scenarios) {
+        int count = 0;
+        for (VedroScenarioInfo scenario : scenarios) {
+            count += scenario.getCaseCount();
+        }
+        return Math.max(1, count);
+    }
+}
@@ -0,0 +1,125 @@
+package io.vedro.execution;
+
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.process.ProcessOutputTypes;
+import com.intellij.openapi.util.Key;
+
+import jetbrains.buildServer.messages.serviceMessages.ServiceMessage;
+
+/**
+ * Runs several vedro processes as one: their output is merged line by line
+ * and the handler terminates when the last shard does.
+ * Testing starts and finishes once for the whole run, not once per shard.
+ */
+public class VedroShardedProcessHandler extends ProcessHandler {
+    protected final List<ProcessHandler> shards;
+    protected final AtomicInteger running;
+    protected volatile int exitCode = 0;
+
+    public VedroShardedProcessHandler(@NotNull List<ProcessHandler> shards) {
+        this.shards = shards;
+        this.running = new AtomicInteger(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).addProcessListener(new ShardListener(new VedroShardMessageRewriter(i)));
+        }
+    }
+
+    @Override
+    public void startNotify() {
+        super.startNotify();
+        emit(ServiceMessage.asString(VedroShardMessageRewriter.TESTING_STARTED, Map.of()) + "\n", ProcessOutputTypes.STDOUT);
+        for (ProcessHandler shard : shards) {
+            shard.startNotify();
+        }
+    }
+
+    @Override
+    protected void destroyProcessImpl() {
+        for (ProcessHandler shard : shards) {
+            shard.destroyProcess();
+        }
+    }
+
+    @Override
+    protected void detachProcessImpl() {
+        for (ProcessHandler shard : shards) {
+            shard.detachProcess();
+        }
+        notifyProcessDetached();
+    }
+
+    @Override
+    public boolean detachIsDefault() {
+        return false;
+    }
+
+    @Override
+    public @Nullable OutputStream getProcessInput() {
+        return null;
+    }
+
+    protected synchronized void emit(@NotNull String text, @NotNull Key<?> outputType) {
+        if (!text.isEmpty()) {
+            notifyTextAvailable(text, outputType);
+        }
+    }
+
+    protected class ShardListener extends ProcessAdapter {
+        protected final VedroShardMessageRewriter rewriter;
+        protected final Map<Key<?>, StringBuilder> buffers = new HashMap<>();
+
+        ShardListener(@NotNull VedroShardMessageRewriter rewriter) {
+            this.rewriter = rewriter;
+        }
+
+        @Override
+        public void onTextAvailable(@NotNull ProcessEvent event, @NotNull Key outputType) {
+            String text = event.getText();
+            if (text == null) {
+                return;
+            }
+            synchronized (this) {
+                StringBuilder buffer = buffers.computeIfAbsent(outputType, key -> new StringBuilder());
+                buffer.append(text);
+
+                int lineEnd;
+                while ((lineEnd = buffer.indexOf("\n")) >= 0) {
+                    String line = buffer.substring(0, lineEnd + 1);
+                    buffer.delete(0, lineEnd + 1);
+                    emit(rewriter.rewrite(line), outputType);
+                }
+            }
+        }
+
+        @Override
+        public void processTerminated(@NotNull ProcessEvent event) {
+            synchronized (this) {
+                for (Map.Entry<Key<?>, StringBuilder> entry : buffers.entrySet()) {
+                    if (entry.getValue().length() > 0) {
+                        emit(rewriter.rewrite(entry.getValue() + "\n"), entry.getKey());
+                    }
+                }
+                buffers.clear();
+            }
+
+            if (event.getExitCode() != 0) {
+                exitCode = event.getExitCode();
+            }
+            if (running.decrementAndGet() == 0) {
+                emit(ServiceMessage.asString(VedroShardMessageRewriter.TESTING_FINISHED, Map.of()) + "\n", ProcessOutputTypes.STDOUT);
+                notifyProcessTerminated(exitCode);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package io.vedro.execution;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.execution.Location;
+import com.intellij.execution.PsiLocation;
+import com.intellij.execution.testframework.sm.runner.SMTestLocator;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.python.psi.PyCallExpression;
+import com.jetbrains.python.psi.PyClass;
+import com.jetbrains.python.psi.PyDecorator;
+import com.jetbrains.python.psi.PyDecoratorList;
+import com.jetbrains.python.psi.PyFile;
+import com.jetbrains.python.psi.PyFunction;
+
+import io.vedro.index.VedroScenarioIndex;
+import io.vedro.index.VedroScenarioInfo;
+import io.vedro.util.VedroScenarioDetector;
+import io.vedro.util.VedroTestUtils;
+
+/**
+ * Resolves {@code vedro://path::Scenario#N} locations to the scenario or to its Nth params decorator or call.
+ * Scenarios are found by the offsets in {@link VedroScenarioIndex}, so a lookup rarely walks the file.
+ */
+public class VedroTestLocator implements SMTestLocator {
+    protected final String workingDirectory;
+
+    public VedroTestLocator(@Nullable String workingDirectory) {
+        this.workingDirectory = workingDirectory;
+    }
+
+    @Override
+    public @NotNull List<Location> getLocation(@NotNull String protocol, @NotNull String path,
+                                               @NotNull Project project, @NotNull GlobalSearchScope scope) {
+        if (!VedroTestTargets.PROTOCOL.equals(protocol)) {
+            return Collections.emptyList();
+        }
+
+        int separator = path.indexOf("::");
+        VirtualFile file = findFile(separator >= 0 ? path.substring(0, separator) : path);
+        if (file == null) {
+            return Collections.emptyList();
+        }
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        if (psiFile == null) {
+            return Collections.emptyList();
+        }
+        if (separator < 0) {
+            return List.of(PsiLocation.fromPsiElement(psiFile));
+        }
+
+        String scenario = path.substring(separator + 2);
+        int hash = scenario.lastIndexOf('#');
+        String name = hash >= 0 ? scenario.substring(0, hash) : scenario;
+        int paramsIndex = hash >= 0 ? StringUtil.parseInt(scenario.substring(hash + 1), -1) : -1;
+
+        PsiElement element = findScenario(psiFile, name);
+        if (element == null) {
+            return Collections.emptyList();
+        }
+        if (paramsIndex > 0) {
+            PsiElement row = findParamsRow(element, paramsIndex);
+            if (row != null) {
+                element = row;
+            }
+        }
+        return List.of(PsiLocation.fromPsiElement(element));
+    }
+
+    @Nullable
+    protected VirtualFile findFile(@NotNull String filePath) {
+        try {
+            Path resolved = Paths.get(filePath);
+            if (!resolved.isAbsolute() && workingDirectory != null) {
+                resolved = Paths.get(workingDirectory).resolve(resolved);
+            }
+            return LocalFileSystem.getInstance().findFileByNioFile(resolved.normalize());
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds a scenario class or function through its indexed offset, or by top-level name while indexing
+     * or when the index has no entry for it
+     */
+    @Nullable
+    protected PsiElement findScenario(@NotNull PsiFile psiFile, @NotNull String name) {
+        if (!DumbService.isDumb(psiFile.getProject()) && psiFile.getVirtualFile() != null) {
+            for (VedroScenarioInfo info : VedroScenarioIndex.getScenarios(psiFile.getProject(), psiFile.getVirtualFile())) {
+                if (info.getName().equals(name)) {
+                    // Checks the name, as the offset is stale while the file is being edited
+                    PsiElement element = VedroScenarioIndex.findElement(psiFile, info);
+                    if (element != null) {
+                        return element;
+                    }
+                }
+            }
+        }
+
+        if (!(psiFile instanceof PyFile pyFile)) {
+            return null;
+        }
+        PyClass cls = pyFile.findTopLevelClass(name);
+        return cls != null ? cls : pyFile.findTopLevelFunction(name);
+    }
+
+    /**
+     * Finds the Nth params decorator of a scenario class constructor or the Nth params call of a scenario function
+     */
+    @Nullable
+    protected PsiElement findParamsRow(@NotNull PsiElement scenario, int index) {
+        PyFunction function = scenario instanceof PyClass cls
+            ? cls.findMethodByName("__init__", false, null)
+            : (PyFunction) scenario;
+        if (function == null) {
+            return null;
+        }
+
+        if (!DumbService.isDumb(function.getProject())) {
+            VedroTestUtils.ParamsIndex params = VedroTestUtils.getParamsIndex(function);
+            List<? extends PsiElement> rows = scenario instanceof PyClass ? params.getDecorators() : params.getCalls();
+            return index <= rows.size() ? rows.get(index - 1) : null;
+        }
+
+        PyDecoratorList decoratorList = function.getDecoratorList();
+        if (decoratorList == null) {
+            return null;
+        }
+        if (scenario instanceof PyClass) {
+            for (PyDecorator decorator : decoratorList.getDecorators()) {
+                if (VedroScenarioDetector.getParamsIndex(decorator) == index) {
+                    return decorator;
+                }
+            }
+            return null;
+        }
+        for (PyCallExpression call : PsiTreeUtil.findChildrenOfType(decoratorList, PyCallExpression.class)) {
+            if (VedroScenarioDetector.getParamsIndex(call) == index) {
+                return call;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,91 @@
+package io.vedro.execution;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.python.psi.PyCallExpression;
+import com.jetbrains.python.psi.PyClass;
+import com.jetbrains.python.psi.PyDecorator;
+import com.jetbrains.python.psi.PyFunction;
+
+import io.vedro.util.VedroScenarioDetector;
+import io.vedro.util.VedroTestUtils;
+
+/**
+ * Conversions between vedro run targets ({@code path::Class}, {@code path::Class#N}, {@code path::function#N})
+ * and test location URLs
+ */
+public class VedroTestTargets {
+    public static final String PROTOCOL = "vedro";
+
+    @NotNull
+    public static String toLocationUrl(@NotNull String target) {
+        return PROTOCOL + "://" + target;
+    }
+
+    /**
+     * Extracts a run target from a location URL of any scheme, relative to the working directory if possible
+     */
+    @Nullable
+    public static String fromLocationUrl(@Nullable String locationUrl, @Nullable String workingDirectory) {
+        if (locationUrl == null) {
+            return null;
+        }
+        int schemeEnd = locationUrl.indexOf("://");
+        String target = (schemeEnd >= 0) ? locationUrl.substring(schemeEnd + 3) : locationUrl;
+
+        int separator = target.indexOf("::");
+        if (separator <= 0 || separator + 2 >= target.length()) {
+            return null;
+        }
+        return relativize(target.substring(0, separator), workingDirectory) + target.substring(separator);
+    }
+
+    /**
+     * Gets the part of the run target after "::" for a scenario name identifier, params decorator or params call
+     */
+    @Nullable
+    public static String getScenarioName(@NotNull PsiElement element) {
+        PsiElement parent = element.getParent();
+        if (parent instanceof PyClass cls && element.equals(cls.getNameIdentifier())) {
+            return cls.getName();
+        }
+        if (parent instanceof PyFunction fn && element.equals(fn.getNameIdentifier())) {
+            return fn.getName();
+        }
+
+        if (element instanceof PyDecorator decorator) {
+            String className = VedroTestUtils.getClassName(decorator);
+            int index = VedroScenarioDetector.getParamsIndex(decorator);
+            return (className != null && index != -1) ? className + "#" + index : null;
+        }
+        if (element instanceof PyCallExpression call) {
+            PyFunction function = PsiTreeUtil.getParentOfType(call, PyFunction.class);
+            int index = VedroScenarioDetector.getParamsIndex(call);
+            return (function != null && index != -1) ? function.getName() + "#" + index : null;
+        }
+        return null;
+    }
+
+    @NotNull
+    protected static String relativize(@NotNull String path, @Nullable String workingDirectory) {
+        if (workingDirectory == null || workingDirectory.isEmpty()) {
+            return path;
+        }
+        try {
+            Path filePath = Paths.get(path);
+            Path workingDir = Paths.get(workingDirectory);
+            if (filePath.isAbsolute() && filePath.startsWith(workingDir)) {
+                return workingDir.relativize(filePath).toString();
+            }
+        } catch (InvalidPathException ignored) {
+        }
+        return path;
+    }
+}
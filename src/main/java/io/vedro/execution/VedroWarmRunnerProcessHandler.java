@@ -0,0 +1,96 @@
+package io.vedro.execution;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.execution.process.OSProcessUtil;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.process.ProcessOutputTypes;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+
+/**
+ * Streams the output of a run forked by the warm vedro runner
+ */
+public class VedroWarmRunnerProcessHandler extends ProcessHandler {
+    private static final Logger LOG = Logger.getInstance(VedroWarmRunnerProcessHandler.class);
+
+    protected final Socket socket;
+    protected final BufferedReader reader;
+    protected final int pid;
+    protected final String commandLine;
+
+    protected volatile int exitCode = -1;
+
+    public VedroWarmRunnerProcessHandler(@NotNull Socket socket, @NotNull BufferedReader reader, int pid, @NotNull String commandLine) {
+        this.socket = socket;
+        this.reader = reader;
+        this.pid = pid;
+        this.commandLine = commandLine;
+    }
+
+    @Override
+    public void startNotify() {
+        notifyTextAvailable(commandLine + "\n", ProcessOutputTypes.SYSTEM);
+        super.startNotify();
+        ApplicationManager.getApplication().executeOnPooledThread(this::readOutput);
+    }
+
+    protected void readOutput() {
+        try (socket) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // The exit marker may follow output that did not end with a newline
+                int marker = line.indexOf(VedroWarmRunnerService.EXIT_MARKER);
+                if (marker < 0) {
+                    notifyTextAvailable(line + "\n", ProcessOutputTypes.STDOUT);
+                    continue;
+                }
+                if (marker > 0) {
+                    notifyTextAvailable(line.substring(0, marker) + "\n", ProcessOutputTypes.STDOUT);
+                }
+                exitCode = Integer.parseInt(line.substring(marker + VedroWarmRunnerService.EXIT_MARKER.length()).trim());
+            }
+        } catch (IOException | NumberFormatException e) {
+            if (!isProcessTerminating()) {
+                LOG.warn("Warm vedro run output was interrupted", e);
+            }
+        } finally {
+            notifyProcessTerminated(exitCode);
+        }
+    }
+
+    @Override
+    protected void destroyProcessImpl() {
+        OSProcessUtil.killProcess(pid);
+        closeSocket();
+    }
+
+    @Override
+    protected void detachProcessImpl() {
+        closeSocket();
+        notifyProcessDetached();
+    }
+
+    protected void closeSocket() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public boolean detachIsDefault() {
+        return false;
+    }
+
+    @Override
+    public @Nullable OutputStream getProcessInput() {
+        return null;
+    }
+}
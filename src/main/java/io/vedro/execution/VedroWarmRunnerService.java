@@ -0,0 +1,350 @@
+package io.vedro.execution;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.configurations.GeneralCommandLine;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.ProjectJdkTable;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.execution.ParametersListUtil;
+import com.jetbrains.python.sdk.PythonSdkUtil;
+
+import io.vedro.config.VedroRunConfiguration;
+
+/**
+ * Keeps one pre-imported vedro process per interpreter, working directory and environment.
+ * Runs are forked from it, so they skip interpreter and import startup.
+ * A process is recycled when its vedro.cfg.py or the SDK table changes.
+ */
+@Service
+public final class VedroWarmRunnerService implements Disposable {
+    private static final Logger LOG = Logger.getInstance(VedroWarmRunnerService.class);
+
+    static final String PID_MARKER = "\0vedro-warm-pid ";
+    static final String STALE_MARKER = "\0vedro-warm-stale";
+    static final String EXIT_MARKER = "\0vedro-warm-exit ";
+
+    private static final long STARTUP_TIMEOUT_SECONDS = 60;
+
+    private final Map<DaemonKey, Daemon> daemons = new ConcurrentHashMap<>();
+
+    public VedroWarmRunnerService(@NotNull Project project) {
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    stopForConfigPath(event.getPath());
+                    if (event instanceof VFileMoveEvent move) {
+                        stopForConfigPath(move.getOldPath());
+                    } else if (event instanceof VFilePropertyChangeEvent change && change.isRename()) {
+                        stopForConfigPath(change.getOldPath());
+                    }
+                }
+            }
+        });
+
+        ApplicationManager.getApplication().getMessageBus().connect(this).subscribe(ProjectJdkTable.JDK_TABLE_TOPIC, new ProjectJdkTable.Listener() {
+            @Override
+            public void jdkAdded(@NotNull Sdk jdk) {
+                stopAll();
+            }
+
+            @Override
+            public void jdkRemoved(@NotNull Sdk jdk) {
+                stopAll();
+            }
+
+            @Override
+            public void jdkNameChanged(@NotNull Sdk jdk, @NotNull String previousName) {
+                stopAll();
+            }
+        });
+    }
+
+    public static VedroWarmRunnerService getInstance(@NotNull Project project) {
+        return project.getService(VedroWarmRunnerService.class);
+    }
+
+    /**
+     * Checks if the configuration can be run by a warm process: a local interpreter on a system with fork()
+     */
+    public static boolean isSupported(@NotNull VedroRunConfiguration configuration) {
+        Sdk sdk = configuration.getSdk();
+        return !SystemInfo.isWindows
+            && configuration.getInterpreterPath() != null
+            && (sdk == null || !PythonSdkUtil.isRemote(sdk));
+    }
+
+    /**
+     * Starts a run in the warm process for the configuration, or returns null if a cold start is needed
+     */
+    @Nullable
+    public ProcessHandler startRun(@NotNull VedroRunConfiguration configuration, @NotNull List<String> args) {
+        if (!isSupported(configuration)) {
+            return null;
+        }
+
+        DaemonKey key = createKey(configuration);
+        // A stale daemon exits on the first request, so one retry is enough
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                Daemon daemon = getOrStartDaemon(key, configuration);
+                ProcessHandler handler = daemon.connect(args, key);
+                if (handler != null) {
+                    return handler;
+                }
+                stop(key);
+            } catch (IOException | ExecutionException | java.util.concurrent.ExecutionException | java.util.concurrent.TimeoutException e) {
+                LOG.warn("Warm vedro runner is not available, falling back to a cold start", e);
+                stop(key);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    private Daemon getOrStartDaemon(@NotNull DaemonKey key, @NotNull VedroRunConfiguration configuration)
+        throws IOException, ExecutionException, InterruptedException, java.util.concurrent.ExecutionException, java.util.concurrent.TimeoutException {
+        synchronized (daemons) {
+            Daemon daemon = daemons.get(key);
+            if (daemon != null && daemon.process.isAlive()) {
+                return daemon;
+            }
+            daemon = Daemon.start(key, VedroHelpers.extract(VedroHelpers.WARM_RUNNER), configuration);
+            daemons.put(key, daemon);
+            return daemon;
+        }
+    }
+
+    @NotNull
+    private DaemonKey createKey(@NotNull VedroRunConfiguration configuration) {
+        Map<String, String> env = new TreeMap<>(configuration.getEnvs());
+        env.put("PYTHONUNBUFFERED", "1");
+
+        List<String> pythonPath = new ArrayList<>();
+        Module module = configuration.getModule();
+        if (module != null) {
+            ModuleRootManager roots = ModuleRootManager.getInstance(module);
+            if (configuration.shouldAddContentRoots()) {
+                for (VirtualFile root : roots.getContentRoots()) {
+                    pythonPath.add(root.getPath());
+                }
+            }
+            if (configuration.shouldAddSourceRoots()) {
+                for (VirtualFile root : roots.getSourceRoots()) {
+                    pythonPath.add(root.getPath());
+                }
+            }
+        }
+        if (env.containsKey("PYTHONPATH")) {
+            pythonPath.add(env.get("PYTHONPATH"));
+        }
+        if (!pythonPath.isEmpty()) {
+            env.put("PYTHONPATH", String.join(java.io.File.pathSeparator, pythonPath));
+        }
+
+        String workingDirectory = configuration.getWorkingDirectorySafe();
+        return new DaemonKey(
+            configuration.getInterpreterPath(),
+            workingDirectory,
+            Paths.get(workingDirectory, configuration.getConfigFileName()).toString(),
+            env,
+            configuration.isPassParentEnvs()
+        );
+    }
+
+    private void stopForConfigPath(@Nullable String path) {
+        if (path == null) {
+            return;
+        }
+        for (DaemonKey key : daemons.keySet()) {
+            if (path.equals(key.configPath)) {
+                stop(key);
+            }
+        }
+    }
+
+    private void stop(@NotNull DaemonKey key) {
+        Daemon daemon = daemons.remove(key);
+        if (daemon != null) {
+            daemon.process.destroy();
+        }
+    }
+
+    public void stopAll() {
+        for (DaemonKey key : daemons.keySet()) {
+            stop(key);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        stopAll();
+    }
+
+    private static final class DaemonKey {
+        final String interpreterPath;
+        final String workingDirectory;
+        final String configPath;
+        final Map<String, String> env;
+        final boolean passParentEnvs;
+
+        DaemonKey(String interpreterPath, String workingDirectory, String configPath, Map<String, String> env, boolean passParentEnvs) {
+            this.interpreterPath = interpreterPath;
+            this.workingDirectory = workingDirectory;
+            this.configPath = configPath;
+            this.env = env;
+            this.passParentEnvs = passParentEnvs;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DaemonKey other)) {
+                return false;
+            }
+            return passParentEnvs == other.passParentEnvs
+                && interpreterPath.equals(other.interpreterPath)
+                && workingDirectory.equals(other.workingDirectory)
+                && configPath.equals(other.configPath)
+                && env.equals(other.env);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(interpreterPath, workingDirectory, configPath, env, passParentEnvs);
+        }
+    }
+
+    private static final class Daemon {
+        final Process process;
+        final int port;
+        final String token;
+
+        Daemon(@NotNull Process process, int port, @NotNull String token) {
+            this.process = process;
+            this.port = port;
+            this.token = token;
+        }
+
+        @NotNull
+        static Daemon start(@NotNull DaemonKey key, @NotNull Path script, @NotNull VedroRunConfiguration configuration)
+            throws ExecutionException, InterruptedException, java.util.concurrent.ExecutionException, java.util.concurrent.TimeoutException, IOException {
+            GeneralCommandLine commandLine = new GeneralCommandLine(key.interpreterPath, script.toString())
+                .withWorkDirectory(key.workingDirectory)
+                .withEnvironment(key.env)
+                .withParentEnvironmentType(key.passParentEnvs ? GeneralCommandLine.ParentEnvironmentType.CONSOLE : GeneralCommandLine.ParentEnvironmentType.NONE)
+                .withCharset(StandardCharsets.UTF_8);
+            Process process = commandLine.createProcess();
+            // A full pipe blocks the daemon, so its stderr is read for its whole life
+            drain(process.getErrorStream(), key);
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            Future<String> handshake = ApplicationManager.getApplication().executeOnPooledThread(reader::readLine);
+            String line;
+            try {
+                line = handshake.get(STARTUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (java.util.concurrent.ExecutionException | java.util.concurrent.TimeoutException | InterruptedException e) {
+                process.destroy();
+                throw e;
+            }
+
+            List<String> parts = line == null ? List.of() : StringUtil.split(line.trim(), " ");
+            if (parts.size() != 3 || !parts.get(0).equals("port")) {
+                process.destroy();
+                throw new IOException("Unexpected warm runner handshake for " + configuration.getName() + ": " + line);
+            }
+            drain(reader, key);
+            return new Daemon(process, Integer.parseInt(parts.get(1)), parts.get(2));
+        }
+
+        static void drain(@NotNull InputStream stream, @NotNull DaemonKey key) {
+            drain(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)), key);
+        }
+
+        static void drain(@NotNull BufferedReader reader, @NotNull DaemonKey key) {
+            ApplicationManager.getApplication().executeOnPooledThread(() -> {
+                try (reader) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        LOG.debug("[warm " + key.workingDirectory + "] " + line);
+                    }
+                } catch (IOException ignored) {
+                    // The daemon is gone
+                }
+            });
+        }
+
+        /**
+         * Sends a run request and returns its handler, or null if the daemon reports that it is stale
+         */
+        @Nullable
+        ProcessHandler connect(@NotNull List<String> args, @NotNull DaemonKey key) throws IOException {
+            Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            try {
+                JsonObject request = new JsonObject();
+                request.addProperty("token", token);
+                request.add("args", new Gson().toJsonTree(args));
+                request.add("env", new Gson().toJsonTree(key.env));
+
+                OutputStream out = socket.getOutputStream();
+                out.write((request + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+
+                BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                String first = reader.readLine();
+                if (first == null || first.startsWith(STALE_MARKER) || !first.startsWith(PID_MARKER)) {
+                    socket.close();
+                    return null;
+                }
+                int pid = Integer.parseInt(first.substring(PID_MARKER.length()).trim());
+                String commandLine = "[warm] " + key.interpreterPath + " -m vedro " + ParametersListUtil.join(args);
+                return new VedroWarmRunnerProcessHandler(socket, reader, pid, commandLine);
+            } catch (IOException | NumberFormatException e) {
+                socket.close();
+                throw e instanceof IOException io ? io : new IOException(e);
+            }
+        }
+    }
+}
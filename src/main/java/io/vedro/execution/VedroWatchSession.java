@@ -0,0 +1,254 @@
+package io.vedro.execution;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.Executor;
+import com.intellij.execution.configurations.RunProfileState;
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.runners.ExecutionEnvironment;
+import com.intellij.execution.runners.ExecutionEnvironmentBuilder;
+import com.intellij.execution.testframework.actions.AbstractRerunFailedTestsAction;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import com.jetbrains.python.PythonFileType;
+
+import io.vedro.config.VedroRunConfiguration;
+
+/**
+ * Watches the working directory of one watch-mode run and reruns the scenario files affected by saved changes.
+ * Bursts of events are merged into one rerun, which stops the run in progress and reuses its console;
+ * the session lives as long as that console, and the rerun starts a session of its own.
+ * Files changed while a rerun is starting are handed over to that session and trigger its first rerun.
+ */
+public class VedroWatchSession implements Disposable {
+    private static final Logger LOG = Logger.getInstance(VedroWatchSession.class);
+
+    protected static final int DEBOUNCE_MS = 300;
+
+    // The changed files of the session whose rerun is starting, taken by the session of that rerun
+    private static final Key<Set<VirtualFile>> HANDED_OVER_FILES = Key.create("vedro.watch.handedOverFiles");
+
+    protected final VedroRunConfiguration configuration;
+    protected final ExecutionEnvironment environment;
+    protected final ProcessHandler processHandler;
+    protected final Path workingDirectory;
+
+    protected final MergingUpdateQueue queue;
+    // Guarded by itself, drained when the merged update runs
+    protected final Set<VirtualFile> changedFiles;
+
+    protected volatile boolean rerunStarted = false;
+
+    public VedroWatchSession(@NotNull VedroRunConfiguration configuration,
+                             @NotNull ExecutionEnvironment environment,
+                             @NotNull ProcessHandler processHandler,
+                             @NotNull Set<VirtualFile> changedFiles) {
+        this.configuration = configuration;
+        this.environment = environment;
+        this.processHandler = processHandler;
+        this.changedFiles = changedFiles;
+        this.workingDirectory = Paths.get(configuration.getWorkingDirectorySafe()).normalize();
+        this.queue = new MergingUpdateQueue("VedroWatch", DEBOUNCE_MS, true, null, this, null, false);
+    }
+
+    /**
+     * Starts watching until the parent, normally the run console, is disposed
+     */
+    public static void start(@NotNull VedroRunConfiguration configuration,
+                             @NotNull ExecutionEnvironment environment,
+                             @NotNull ProcessHandler processHandler,
+                             @NotNull Disposable parent) {
+        Set<VirtualFile> handedOver = configuration.getUserData(HANDED_OVER_FILES);
+        configuration.putUserData(HANDED_OVER_FILES, null);
+
+        VedroWatchSession session = new VedroWatchSession(configuration, environment, processHandler,
+            handedOver != null ? handedOver : new LinkedHashSet<>());
+        Disposer.register(parent, session);
+        configuration.getProject().getMessageBus().connect(session)
+            .subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+                @Override
+                public void after(@NotNull List<? extends VFileEvent> events) {
+                    session.handleEvents(events);
+                }
+            });
+
+        boolean pending;
+        synchronized (session.changedFiles) {
+            pending = !session.changedFiles.isEmpty();
+        }
+        if (pending) {
+            session.queue.queue(Update.create(session, session::scheduleRerun));
+        }
+    }
+
+    protected void handleEvents(@NotNull List<? extends VFileEvent> events) {
+        boolean changed = false;
+        synchronized (changedFiles) {
+            for (VFileEvent event : events) {
+                if (!(event instanceof VFileContentChangeEvent || event instanceof VFileCreateEvent ||
+                      event instanceof VFileMoveEvent || event instanceof VFileCopyEvent)) {
+                    continue;
+                }
+                VirtualFile file = event.getFile();
+                if (file != null && isWatched(file)) {
+                    changed |= changedFiles.add(file);
+                }
+            }
+        }
+        if (changed) {
+            // Same identity, so a burst of saves ends in one update
+            queue.queue(Update.create(this, this::scheduleRerun));
+        }
+    }
+
+    protected boolean isWatched(@NotNull VirtualFile file) {
+        return file.isValid() && !file.isDirectory() && file.getFileType() instanceof PythonFileType &&
+            Paths.get(file.getPath()).startsWith(workingDirectory);
+    }
+
+    protected void scheduleRerun() {
+        if (rerunStarted) {
+            // Left for the session of the rerun
+            return;
+        }
+        List<VirtualFile> files;
+        synchronized (changedFiles) {
+            files = new ArrayList<>(changedFiles);
+            changedFiles.clear();
+        }
+
+        // A newer burst cancels the computation of the previous one
+        ReadAction.nonBlocking(() -> getTargets(files))
+            .inSmartMode(configuration.getProject())
+            .coalesceBy(this)
+            .expireWith(this)
+            .finishOnUiThread(ModalityState.defaultModalityState(), this::rerun)
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Gets the affected scenario files relative to the working directory, narrowed to the configured targets
+     */
+    @NotNull
+    protected List<String> getTargets(@NotNull List<VirtualFile> files) {
+        VedroAffectedScenarios affected = new VedroAffectedScenarios(configuration.getProject());
+        Set<String> targets = new LinkedHashSet<>();
+        for (VirtualFile file : affected.findAffectedScenarioFiles(files)) {
+            Path path = Paths.get(file.getPath()).normalize();
+            if (!path.startsWith(workingDirectory)) {
+                continue;
+            }
+            String relative = workingDirectory.relativize(path).toString();
+            if (configuration.getTargets().isEmpty()) {
+                targets.add(relative);
+                continue;
+            }
+            for (String target : configuration.getTargets()) {
+                String match = matchTarget(target, path, relative);
+                if (match != null) {
+                    targets.add(match);
+                }
+            }
+        }
+        return new ArrayList<>(targets);
+    }
+
+    /**
+     * Gets the target to rerun for a changed scenario file: the configured scenario if the target selects one,
+     * the file if the target is the file or a directory containing it
+     */
+    @Nullable
+    protected String matchTarget(@NotNull String target, @NotNull Path file, @NotNull String relative) {
+        int separator = target.indexOf("::");
+        Path targetPath = workingDirectory.resolve(separator >= 0 ? target.substring(0, separator) : target).normalize();
+        if (targetPath.equals(file)) {
+            return separator >= 0 ? target : relative;
+        }
+        return separator < 0 && file.startsWith(targetPath) ? relative : null;
+    }
+
+    protected void rerun(@NotNull List<String> targets) {
+        if (targets.isEmpty() || rerunStarted) {
+            return;
+        }
+        rerunStarted = true;
+
+        // The listener is added before the check, so a process ending in between still starts the run, once
+        AtomicBoolean started = new AtomicBoolean();
+        Runnable start = () -> {
+            if (started.compareAndSet(false, true)) {
+                ApplicationManager.getApplication().invokeLater(() -> startRun(targets), configuration.getProject().getDisposed());
+            }
+        };
+        processHandler.addProcessListener(new ProcessAdapter() {
+            @Override
+            public void processTerminated(@NotNull ProcessEvent event) {
+                start.run();
+            }
+        });
+        if (processHandler.isProcessTerminated()) {
+            start.run();
+            return;
+        }
+        processHandler.destroyProcess();
+    }
+
+    protected void startRun(@NotNull List<String> targets) {
+        AbstractRerunFailedTestsAction.MyRunProfile profile = new AbstractRerunFailedTestsAction.MyRunProfile(configuration) {
+            @Override
+            public Module @NotNull [] getModules() {
+                return configuration.getModules();
+            }
+
+            @Override
+            public @Nullable RunProfileState getState(@NotNull Executor executor, @NotNull ExecutionEnvironment env) {
+                return new VedroCommandLineState(configuration, env, targets);
+            }
+        };
+
+        configuration.putUserData(HANDED_OVER_FILES, changedFiles);
+        try {
+            new ExecutionEnvironmentBuilder(environment)
+                .runProfile(profile)
+                .contentToReuse(environment.getContentToReuse())
+                .buildAndExecute();
+        } catch (ExecutionException e) {
+            LOG.warn("Cannot rerun affected Vedro scenarios", e);
+            configuration.putUserData(HANDED_OVER_FILES, null);
+            rerunStarted = false;
+        }
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
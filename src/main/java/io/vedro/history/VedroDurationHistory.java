@@ -0,0 +1,302 @@
+package io.vedro.history;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+
+/**
+ * Keeps the recent durations and outcomes of each scenario, keyed by its target relative to the project root.
+ * Records are appended to a tab-separated file in the IDE system directory,
+ * which is compacted once it grows past {@link #MAX_LINES}.
+ */
+@Service
+public final class VedroDurationHistory implements Disposable {
+    private static final Logger LOG = Logger.getInstance(VedroDurationHistory.class);
+
+    public static final int MAX_RUNS_PER_SCENARIO = 20;
+    public static final int MAX_SCENARIOS = 20_000;
+    public static final int MAX_LINES = 100_000;
+
+    public enum Outcome {
+        PASSED('P'), FAILED('F'), SKIPPED('S');
+
+        final char code;
+
+        Outcome(char code) {
+            this.code = code;
+        }
+
+        @Nullable
+        static Outcome fromCode(char code) {
+            for (Outcome outcome : values()) {
+                if (outcome.code == code) {
+                    return outcome;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static final class Record {
+        public final long durationMs;
+        public final Outcome outcome;
+        public final long timestamp;
+
+        Record(long durationMs, @NotNull Outcome outcome, long timestamp) {
+            this.durationMs = durationMs;
+            this.outcome = outcome;
+            this.timestamp = timestamp;
+        }
+    }
+
+    public static final class Stats {
+        public final String key;
+        public final Record last;
+        public final long medianMs;
+        public final int runs;
+
+        Stats(@NotNull String key, @NotNull Record last, long medianMs, int runs) {
+            this.key = key;
+            this.last = last;
+            this.medianMs = medianMs;
+            this.runs = runs;
+        }
+    }
+
+    private final Path storeFile;
+    // Serializes reads and writes of the store; the in-memory maps are guarded by this instance
+    private final Object storeLock = new Object();
+    private final Map<String, Deque<Record>> history = new HashMap<>();
+    // Lines not written yet; before the store is loaded, records are kept here only
+    private final List<String> pending = new ArrayList<>();
+    private volatile boolean loaded = false;
+    private int lines = 0;
+
+    public VedroDurationHistory(@NotNull Project project) {
+        this.storeFile = Paths.get(PathManager.getSystemPath(), "vedro", "history", project.getLocationHash() + ".tsv");
+        ApplicationManager.getApplication().executeOnPooledThread(this::load);
+    }
+
+    public static VedroDurationHistory getInstance(@NotNull Project project) {
+        return project.getService(VedroDurationHistory.class);
+    }
+
+    /**
+     * Builds the history key of a scenario: its file path relative to the project root and the part after "::"
+     */
+    @NotNull
+    public static String getKey(@NotNull Project project, @NotNull String filePath, @NotNull String scenario) {
+        String basePath = project.getBasePath();
+        String path = filePath;
+        if (basePath != null && filePath.startsWith(basePath + "/")) {
+            path = filePath.substring(basePath.length() + 1);
+        }
+        return path + "::" + scenario;
+    }
+
+    /**
+     * Adds a finished run of a scenario; it is written to disk on the next {@link #flush()}
+     */
+    public synchronized void record(@NotNull String key, long durationMs, @NotNull Outcome outcome) {
+        if (key.indexOf('\t') >= 0 || key.indexOf('\n') >= 0) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        if (loaded) {
+            add(key, new Record(durationMs, outcome, timestamp));
+        }
+        pending.add(key + "\t" + outcome.code + "\t" + durationMs + "\t" + timestamp);
+    }
+
+    /**
+     * Gets the stats of a scenario, or null while the store is still being loaded
+     */
+    @Nullable
+    public synchronized Stats getStats(@NotNull String key) {
+        if (!loaded) {
+            return null;
+        }
+        Deque<Record> records = history.get(key);
+        return records == null || records.isEmpty() ? null : toStats(key, records);
+    }
+
+    /**
+     * Gets the scenarios with the largest median duration first, none while the store is still being loaded
+     */
+    @NotNull
+    public synchronized List<Stats> getSlowest(int limit) {
+        if (!loaded) {
+            return new ArrayList<>();
+        }
+        List<Stats> stats = new ArrayList<>(history.size());
+        history.forEach((key, records) -> stats.add(toStats(key, records)));
+        stats.sort(Comparator.comparingLong((Stats s) -> s.medianMs).reversed());
+        return stats.size() > limit ? new ArrayList<>(stats.subList(0, limit)) : stats;
+    }
+
+    /**
+     * Writes pending records on a pooled thread
+     */
+    public void flush() {
+        ApplicationManager.getApplication().executeOnPooledThread(() -> writePending(false));
+    }
+
+    /**
+     * @param closing whether the project is closing, so records made before loading are appended as they are
+     */
+    private void writePending(boolean closing) {
+        synchronized (storeLock) {
+            List<String> toWrite;
+            boolean compact;
+            synchronized (this) {
+                // Otherwise records made before loading are merged by load(), so they must not reach the file first
+                if (pending.isEmpty() || !loaded && !closing) {
+                    return;
+                }
+                compact = loaded && lines + pending.size() > MAX_LINES;
+                toWrite = compact ? snapshotForCompaction() : new ArrayList<>(pending);
+                pending.clear();
+                lines = compact ? toWrite.size() : lines + toWrite.size();
+            }
+
+            try {
+                Files.createDirectories(storeFile.getParent());
+                if (compact) {
+                    Path tmpFile = storeFile.resolveSibling(storeFile.getFileName() + ".tmp");
+                    writeLines(tmpFile, toWrite);
+                    Files.move(tmpFile, storeFile, StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    writeLines(storeFile, toWrite, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+            } catch (IOException e) {
+                LOG.warn("Cannot write Vedro duration history to " + storeFile, e);
+            }
+        }
+    }
+
+    /**
+     * Drops the least recently run scenarios past {@link #MAX_SCENARIOS} and gets the lines of the records kept in memory
+     */
+    @NotNull
+    private List<String> snapshotForCompaction() {
+        List<Map.Entry<String, Deque<Record>>> entries = new ArrayList<>(history.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Deque<Record>> e) -> e.getValue().getLast().timestamp).reversed());
+        for (int i = MAX_SCENARIOS; i < entries.size(); i++) {
+            history.remove(entries.get(i).getKey());
+        }
+
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, Deque<Record>> entry : history.entrySet()) {
+            for (Record record : entry.getValue()) {
+                result.add(entry.getKey() + "\t" + record.outcome.code + "\t" + record.durationMs + "\t" + record.timestamp);
+            }
+        }
+        return result;
+    }
+
+    private static void writeLines(@NotNull Path path, @NotNull List<String> lines, StandardOpenOption... options) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, options)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reads the store without holding the lock of the in-memory maps, then merges the records made meanwhile
+     */
+    private void load() {
+        synchronized (storeLock) {
+            Map<String, Deque<Record>> loadedHistory = new HashMap<>();
+            int loadedLines = 0;
+            if (Files.isRegularFile(storeFile)) {
+                try (BufferedReader reader = Files.newBufferedReader(storeFile, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        loadedLines++;
+                        parse(line, loadedHistory);
+                    }
+                } catch (IOException e) {
+                    LOG.warn("Cannot read Vedro duration history from " + storeFile, e);
+                }
+            }
+
+            synchronized (this) {
+                for (String line : pending) {
+                    parse(line, loadedHistory);
+                }
+                history.clear();
+                history.putAll(loadedHistory);
+                lines = loadedLines;
+                loaded = true;
+            }
+        }
+    }
+
+    private static void parse(@NotNull String line, @NotNull Map<String, Deque<Record>> target) {
+        List<String> parts = StringUtil.split(line, "\t", true, false);
+        if (parts.size() != 4 || parts.get(1).length() != 1) {
+            return;
+        }
+        Outcome outcome = Outcome.fromCode(parts.get(1).charAt(0));
+        long duration = StringUtil.parseLong(parts.get(2), -1);
+        long timestamp = StringUtil.parseLong(parts.get(3), -1);
+        if (outcome != null && duration >= 0 && timestamp >= 0) {
+            add(target, parts.get(0), new Record(duration, outcome, timestamp));
+        }
+    }
+
+    private void add(@NotNull String key, @NotNull Record record) {
+        add(history, key, record);
+    }
+
+    private static void add(@NotNull Map<String, Deque<Record>> target, @NotNull String key, @NotNull Record record) {
+        Deque<Record> records = target.computeIfAbsent(key, k -> new ArrayDeque<>());
+        records.addLast(record);
+        while (records.size() > MAX_RUNS_PER_SCENARIO) {
+            records.removeFirst();
+        }
+    }
+
+    @NotNull
+    private static Stats toStats(@NotNull String key, @NotNull Deque<Record> records) {
+        long[] durations = new long[records.size()];
+        int i = 0;
+        for (Record record : records) {
+            durations[i++] = record.durationMs;
+        }
+        Arrays.sort(durations);
+        return new Stats(key, records.getLast(), durations[durations.length / 2], durations.length);
+    }
+
+    @Override
+    public void dispose() {
+        writePending(true);
+    }
+}
@@ -0,0 +1,82 @@
+package io.vedro.history;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.execution.testframework.sm.runner.SMTRunnerEventsAdapter;
+import com.intellij.execution.testframework.sm.runner.SMTestProxy;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+
+import io.vedro.execution.VedroTestTargets;
+
+/**
+ * Feeds the scenario results of one run into {@link VedroDurationHistory} and {@link VedroTestResultCache}.
+ * The events topic is shared by all consoles, so only tests under this run's root are recorded.
+ */
+public class VedroDurationRecorder extends SMTRunnerEventsAdapter {
+    protected final Project project;
+    protected final SMTestProxy.SMRootTestProxy root;
+    protected final Path workingDirectory;
+
+    public VedroDurationRecorder(@NotNull Project project, @NotNull SMTestProxy.SMRootTestProxy root, @NotNull String workingDirectory) {
+        this.project = project;
+        this.root = root;
+        this.workingDirectory = Paths.get(workingDirectory);
+    }
+
+    @Override
+    public void onTestFinished(@NotNull SMTestProxy test) {
+        // A skipped scenario also finishes after onTestIgnored, it is recorded there
+        if (test.isIgnored()) {
+            return;
+        }
+        record(test, test.isPassed() ? VedroDurationHistory.Outcome.PASSED : VedroDurationHistory.Outcome.FAILED);
+    }
+
+    @Override
+    public void onTestIgnored(@NotNull SMTestProxy test) {
+        record(test, VedroDurationHistory.Outcome.SKIPPED);
+    }
+
+    @Override
+    public void onTestingFinished(@NotNull SMTestProxy.SMRootTestProxy testsRoot) {
+        if (testsRoot == root) {
+            VedroDurationHistory.getInstance(project).flush();
+            // Gutter icons show the new outcomes after the next highlighting pass
+            DaemonCodeAnalyzer.getInstance(project).restart();
+        }
+    }
+
+    protected void record(@NotNull SMTestProxy test, @NotNull VedroDurationHistory.Outcome outcome) {
+        if (!isUnderRoot(test)) {
+            return;
+        }
+        String target = VedroTestTargets.fromLocationUrl(test.getLocationUrl(), null);
+        if (target == null) {
+            return;
+        }
+
+        int separator = target.indexOf("::");
+        // Keys use '/' like the VirtualFile paths the gutter looks them up with
+        String filePath = FileUtil.toSystemIndependentName(workingDirectory.resolve(target.substring(0, separator)).normalize().toString());
+        String key = VedroDurationHistory.getKey(project, filePath, target.substring(separator + 2));
+        VedroTestResultCache.getInstance(project).put(key, outcome);
+
+        Long duration = test.getDuration();
+        if (duration != null) {
+            VedroDurationHistory.getInstance(project).record(key, duration, outcome);
+        }
+    }
+
+    protected boolean isUnderRoot(@NotNull SMTestProxy test) {
+        SMTestProxy node = test;
+        while (node.getParent() != null) {
+            node = node.getParent();
+        }
+        return node == root;
+    }
+}
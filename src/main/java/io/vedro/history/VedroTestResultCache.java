@@ -0,0 +1,60 @@
+package io.vedro.history;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+
+/**
+ * Last outcome of each scenario in this IDE session, keyed like {@link VedroDurationHistory}.
+ * Gutter icons read it on every highlighting pass, so lookups are plain map reads.
+ */
+@Service
+public final class VedroTestResultCache {
+    // "path::Scenario#N" -> outcome
+    private final Map<String, VedroDurationHistory.Outcome> results = new ConcurrentHashMap<>();
+    // "path::Scenario" -> outcomes of its "#N" rows
+    private final Map<String, Map<String, VedroDurationHistory.Outcome>> rows = new ConcurrentHashMap<>();
+
+    public static VedroTestResultCache getInstance(@NotNull Project project) {
+        return project.getService(VedroTestResultCache.class);
+    }
+
+    public void put(@NotNull String key, @NotNull VedroDurationHistory.Outcome outcome) {
+        results.put(key, outcome);
+        int separator = key.lastIndexOf('#');
+        if (separator > key.indexOf("::")) {
+            rows.computeIfAbsent(key.substring(0, separator), k -> new ConcurrentHashMap<>()).put(key, outcome);
+        }
+    }
+
+    /**
+     * Gets the last outcome of a scenario or params row; a parametrized scenario gets the worst outcome of its rows
+     */
+    @Nullable
+    public VedroDurationHistory.Outcome get(@NotNull String key) {
+        VedroDurationHistory.Outcome outcome = results.get(key);
+        if (outcome != null) {
+            return outcome;
+        }
+
+        Map<String, VedroDurationHistory.Outcome> scenarioRows = rows.get(key);
+        if (scenarioRows == null) {
+            return null;
+        }
+        VedroDurationHistory.Outcome worst = null;
+        for (VedroDurationHistory.Outcome row : scenarioRows.values()) {
+            if (row == VedroDurationHistory.Outcome.FAILED) {
+                return row;
+            }
+            if (worst == null || row == VedroDurationHistory.Outcome.SKIPPED) {
+                worst = row;
+            }
+        }
+        return worst;
+    }
+}
@@ -0,0 +1,235 @@
+package io.vedro.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.QualifiedName;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.python.PyNames;
+import com.jetbrains.python.PythonFileType;
+import com.jetbrains.python.psi.PyFile;
+import com.jetbrains.python.psi.PyFromImportStatement;
+import com.jetbrains.python.psi.PyImportElement;
+import com.jetbrains.python.psi.PyImportStatement;
+
+/**
+ * Records the modules imported by each Python file, which is the reverse edge of the import graph.
+ * Absolute imports are keyed by dotted name, relative imports by their level and dotted name.
+ * Keys depend only on the file content, so moving a directory does not leave stale edges behind;
+ * relative imports are matched against the importer's directory when the index is queried.
+ */
+public class VedroImportIndex extends ScalarIndexExtension<String> {
+    public static final ID<String, Void> NAME = ID.create("vedro.imports");
+
+    protected static final String MODULE_PREFIX = "module:";
+    protected static final String RELATIVE_PREFIX = "relative:";
+
+    // Deeper relative imports are not looked up
+    protected static final int MAX_RELATIVE_LEVEL = 8;
+    protected static final int MAX_BASE_DEPTH = 16;
+
+    @Override
+    public @NotNull ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof PyFile pyFile)) {
+                return Map.of();
+            }
+            Map<String, Void> keys = new HashMap<>();
+            for (PyImportStatement statement : PsiTreeUtil.findChildrenOfType(pyFile, PyImportStatement.class)) {
+                for (PyImportElement element : statement.getImportElements()) {
+                    addModuleKeys(keys, element.getImportedQName());
+                }
+            }
+
+            for (PyFromImportStatement statement : PsiTreeUtil.findChildrenOfType(pyFile, PyFromImportStatement.class)) {
+                QualifiedName source = statement.getImportSourceQName();
+                int level = statement.getRelativeLevel();
+                List<String> names = new ArrayList<>();
+                for (PyImportElement element : statement.getImportElements()) {
+                    QualifiedName importedName = element.getImportedQName();
+                    if (importedName != null) {
+                        names.add(importedName.toString());
+                    }
+                }
+
+                if (level == 0) {
+                    addModuleKeys(keys, source);
+                    for (String name : names) {
+                        // The imported name may be a submodule rather than an attribute
+                        addModuleKeys(keys, source == null ? null : source.append(QualifiedName.fromDottedString(name)));
+                    }
+                } else if (level <= MAX_RELATIVE_LEVEL) {
+                    String sourceName = source == null ? "" : source.toString();
+                    keys.put(getRelativeKey(level, sourceName), null);
+                    for (String name : names) {
+                        keys.put(getRelativeKey(level, sourceName.isEmpty() ? name : sourceName + "." + name), null);
+                    }
+                }
+            }
+            return keys;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(PythonFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Gets the files in the scope that import the given module file
+     *
+     * @param importRoots directories from which the module can be imported by an absolute name
+     */
+    @NotNull
+    public static Set<VirtualFile> getImporters(@NotNull VirtualFile module,
+                                                @NotNull Collection<VirtualFile> importRoots,
+                                                @NotNull GlobalSearchScope scope) {
+        Set<VirtualFile> importers = new LinkedHashSet<>();
+        for (String key : getModuleKeys(module, importRoots)) {
+            importers.addAll(FileBasedIndex.getInstance().getContainingFiles(NAME, key, scope));
+        }
+        addRelativeImporters(importers, module, importRoots, scope);
+        importers.remove(module);
+        return importers;
+    }
+
+    /**
+     * Gets the directories from which a module file of the project can be imported: its content and source roots
+     */
+    @NotNull
+    public static Set<VirtualFile> getImportRoots(@NotNull Project project, @NotNull VirtualFile file) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        Set<VirtualFile> roots = new LinkedHashSet<>();
+        VirtualFile contentRoot = fileIndex.getContentRootForFile(file);
+        if (contentRoot != null) {
+            roots.add(contentRoot);
+        }
+        VirtualFile sourceRoot = fileIndex.getSourceRootForFile(file);
+        if (sourceRoot != null) {
+            roots.add(sourceRoot);
+        }
+        return roots;
+    }
+
+    @NotNull
+    protected static Set<String> getModuleKeys(@NotNull VirtualFile module, @NotNull Collection<VirtualFile> importRoots) {
+        boolean isPackage = PyNames.INIT_DOT_PY.equals(module.getName());
+        VirtualFile target = isPackage ? module.getParent() : module;
+        if (target == null) {
+            return Set.of();
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (VirtualFile root : importRoots) {
+            String relativePath = VfsUtilCore.getRelativePath(target, root, '.');
+            if (relativePath == null || relativePath.isEmpty()) {
+                continue;
+            }
+            keys.add(MODULE_PREFIX + (isPackage ? relativePath : stripExtension(relativePath)));
+        }
+        return keys;
+    }
+
+    protected static void addModuleKeys(@NotNull Map<String, Void> keys, @Nullable QualifiedName name) {
+        // "import a.b.c" also executes a/__init__.py and a/b/__init__.py
+        for (int i = 1; name != null && i <= name.getComponentCount(); i++) {
+            keys.put(MODULE_PREFIX + name.subQualifiedName(0, i), null);
+        }
+    }
+
+    /**
+     * Adds the files importing the module relatively: for each package directory above the module,
+     * the files whose "from ...name import" with the matching level starts at that directory
+     */
+    protected static void addRelativeImporters(@NotNull Set<VirtualFile> importers,
+                                               @NotNull VirtualFile module,
+                                               @NotNull Collection<VirtualFile> importRoots,
+                                               @NotNull GlobalSearchScope scope) {
+        boolean isPackage = PyNames.INIT_DOT_PY.equals(module.getName());
+        VirtualFile target = isPackage ? module.getParent() : module;
+        if (target == null) {
+            return;
+        }
+
+        // "from . import x" inside a package starts at the package itself
+        VirtualFile base = isPackage ? target : target.getParent();
+        for (int depth = 0; base != null && depth < MAX_BASE_DEPTH; depth++, base = base.getParent()) {
+            String relativePath = base.equals(target) ? "" : VfsUtilCore.getRelativePath(target, base, '.');
+            if (relativePath == null) {
+                break;
+            }
+            String name = isPackage ? relativePath : stripExtension(relativePath);
+            for (int level = 1; level <= MAX_RELATIVE_LEVEL; level++) {
+                for (VirtualFile importer : FileBasedIndex.getInstance().getContainingFiles(NAME, getRelativeKey(level, name), scope)) {
+                    if (base.equals(getAncestor(importer.getParent(), level - 1))) {
+                        importers.add(importer);
+                    }
+                }
+            }
+            // Relative imports do not reach above an import root
+            if (importRoots.contains(base)) {
+                break;
+            }
+        }
+    }
+
+    @NotNull
+    protected static String getRelativeKey(int level, @NotNull String name) {
+        return RELATIVE_PREFIX + level + ":" + name;
+    }
+
+    @Nullable
+    protected static VirtualFile getAncestor(@Nullable VirtualFile dir, int levels) {
+        for (int i = 0; i < levels && dir != null; i++) {
+            dir = dir.getParent();
+        }
+        return dir;
+    }
+
+    @NotNull
+    protected static String stripExtension(@NotNull String path) {
+        return path.endsWith(PyNames.DOT_PY) ? path.substring(0, path.length() - PyNames.DOT_PY.length()) : path;
+    }
+}
@@ -0,0 +1,280 @@
+package io.vedro.index;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.ide.projectView.ProjectView;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import com.jetbrains.python.PythonFileType;
+
+/**
+ * Number of scenarios and cases in each directory, summed from the per-file data of {@link VedroScenarioIndex}.
+ * Changed files are re-read from the index and their difference is applied to their ancestors,
+ * so the totals are never recomputed by walking the tree; only indexing and directory-level changes trigger a full rebuild.
+ */
+@Service
+public final class VedroScenarioCounts implements Disposable {
+    private static final int DEBOUNCE_MS = 500;
+
+    private final Project project;
+    private final MergingUpdateQueue queue;
+
+    // directory path -> totals, read by the project view
+    private final Map<String, Counts> directories = new ConcurrentHashMap<>();
+    // file path -> counts, only touched by the queue
+    private final Map<String, Counts> files = new HashMap<>();
+
+    // Guarded by itself
+    private final Set<String> dirtyFiles = new LinkedHashSet<>();
+    private volatile boolean rebuildRequested = false;
+    private volatile boolean built = false;
+
+    public VedroScenarioCounts(@NotNull Project project) {
+        this.project = project;
+        this.queue = new MergingUpdateQueue("VedroScenarioCounts", DEBOUNCE_MS, true, null, this, null, false);
+
+        project.getMessageBus().connect(this).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                if (built) {
+                    handleEvents(events);
+                }
+            }
+        });
+        project.getMessageBus().connect(this).subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
+            @Override
+            public void exitDumbMode() {
+                if (built) {
+                    requestRebuild();
+                }
+            }
+        });
+    }
+
+    public static VedroScenarioCounts getInstance(@NotNull Project project) {
+        return project.getService(VedroScenarioCounts.class);
+    }
+
+    /**
+     * Gets the totals of a directory, or null if it has no scenarios or the counts are not built yet
+     */
+    @Nullable
+    public Counts getCounts(@NotNull VirtualFile directory) {
+        if (!built && !rebuildRequested) {
+            requestRebuild();
+        }
+        return directories.get(directory.getPath());
+    }
+
+    /**
+     * Checks if the counts have been computed at least once, until then {@link #getCounts} returns null for every directory
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    private void requestRebuild() {
+        rebuildRequested = true;
+        queue.queue(Update.create(this, this::update));
+    }
+
+    private void handleEvents(@NotNull List<? extends VFileEvent> events) {
+        boolean changed = false;
+        synchronized (dirtyFiles) {
+            for (VFileEvent event : events) {
+                VirtualFile file = event.getFile();
+                if (file != null && file.isDirectory() && !(event instanceof VFileContentChangeEvent)) {
+                    // A whole subtree appeared, moved or went away
+                    rebuildRequested = true;
+                    changed = true;
+                } else if (event instanceof VFileMoveEvent move) {
+                    changed |= dirtyFiles.add(move.getOldPath()) | dirtyFiles.add(move.getNewPath());
+                } else if (event instanceof VFilePropertyChangeEvent change && change.isRename()) {
+                    changed |= dirtyFiles.add(change.getOldPath()) | dirtyFiles.add(change.getNewPath());
+                } else if (event instanceof VFileContentChangeEvent || event instanceof VFileCreateEvent ||
+                           event instanceof VFileCopyEvent || event instanceof VFileDeleteEvent) {
+                    changed |= dirtyFiles.add(event.getPath());
+                }
+            }
+        }
+        if (changed) {
+            queue.queue(Update.create(this, this::update));
+        }
+    }
+
+    private synchronized void update() {
+        Set<String> dirty;
+        synchronized (dirtyFiles) {
+            dirty = new LinkedHashSet<>(dirtyFiles);
+            dirtyFiles.clear();
+        }
+        boolean rebuild = rebuildRequested;
+        rebuildRequested = false;
+
+        Map<String, Counts> updates;
+        try {
+            updates = ReadAction.nonBlocking(() -> rebuild ? readAll() : read(dirty))
+                .inSmartMode(project)
+                .expireWith(this)
+                .executeSynchronously();
+        } catch (ProcessCanceledException e) {
+            return;
+        }
+
+        boolean changed;
+        if (rebuild) {
+            changed = !files.equals(updates);
+            files.clear();
+            directories.clear();
+            updates.forEach(this::apply);
+            built = true;
+        } else {
+            changed = false;
+            for (Map.Entry<String, Counts> entry : updates.entrySet()) {
+                changed |= apply(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (changed) {
+            ApplicationManager.getApplication().invokeLater(() -> ProjectView.getInstance(project).refresh(), project.getDisposed());
+        }
+    }
+
+    @NotNull
+    private Map<String, Counts> readAll() {
+        Map<String, Counts> result = new HashMap<>();
+        VedroScenarioIndex.processScenarioFiles(project, GlobalSearchScope.projectScope(project), (file, scenarios) -> {
+            ProgressManager.checkCanceled();
+            result.merge(file.getPath(), Counts.of(scenarios), Counts::plus);
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * Reads the counts of the given files, with zero counts for files that are gone or have no scenarios
+     */
+    @NotNull
+    private Map<String, Counts> read(@NotNull Set<String> paths) {
+        Map<String, Counts> result = new HashMap<>();
+        GlobalSearchScope projectScope = GlobalSearchScope.projectScope(project);
+        for (String path : paths) {
+            ProgressManager.checkCanceled();
+            VirtualFile file = LocalFileSystem.getInstance().findFileByPath(path);
+            boolean indexed = file != null && file.isValid() && !file.isDirectory() &&
+                file.getFileType() instanceof PythonFileType && projectScope.contains(file);
+            result.put(path, indexed ? Counts.of(VedroScenarioIndex.getScenarios(project, file)) : Counts.EMPTY);
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the counts of a file and applies the difference to its ancestors
+     */
+    private boolean apply(@NotNull String path, @NotNull Counts counts) {
+        Counts old = files.getOrDefault(path, Counts.EMPTY);
+        if (old.equals(counts)) {
+            return false;
+        }
+        if (counts.equals(Counts.EMPTY)) {
+            files.remove(path);
+        } else {
+            files.put(path, counts);
+        }
+
+        int scenariosDelta = counts.scenarios - old.scenarios;
+        int casesDelta = counts.cases - old.cases;
+        for (int separator = path.lastIndexOf('/'); separator >= 0; separator = path.lastIndexOf('/', separator - 1)) {
+            String dir = separator == 0 ? "/" : path.substring(0, separator);
+            directories.compute(dir, (key, total) -> {
+                Counts base = total != null ? total : Counts.EMPTY;
+                Counts next = new Counts(base.scenarios + scenariosDelta, base.cases + casesDelta);
+                return next.scenarios > 0 ? next : null;
+            });
+            if (separator == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void dispose() {
+        directories.clear();
+    }
+
+    public static final class Counts {
+        public static final Counts EMPTY = new Counts(0, 0);
+
+        private final int scenarios;
+        private final int cases;
+
+        public Counts(int scenarios, int cases) {
+            this.scenarios = scenarios;
+            this.cases = cases;
+        }
+
+        @NotNull
+        static Counts of(@NotNull List<VedroScenarioInfo> infos) {
+            int cases = 0;
+            for (VedroScenarioInfo info : infos) {
+                cases += info.getCaseCount();
+            }
+            return new Counts(infos.size(), cases);
+        }
+
+        @NotNull
+        Counts plus(@NotNull Counts other) {
+            return new Counts(scenarios + other.scenarios, cases + other.cases);
+        }
+
+        public int getScenarios() {
+            return scenarios;
+        }
+
+        /**
+         * Gets the number of cases vedro runs, one per params row of parametrized scenarios
+         */
+        public int getCases() {
+            return cases;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Counts other && scenarios == other.scenarios && cases == other.cases;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * scenarios + cases;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.vedro.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.python.PythonFileType;
+import com.jetbrains.python.psi.PyClass;
+import com.jetbrains.python.psi.PyFile;
+import com.jetbrains.python.psi.PyFunction;
+
+import io.vedro.util.VedroSyntaxUtils;
+import io.vedro.util.VedroTestUtils;
+
+/**
+ * Records the scenarios declared in each Python file, so discovery is an index lookup instead of a PSI walk.
+ * All files with scenarios are stored under the single {@link #KEY}, which is only used to enumerate them;
+ * a single file is read through its own file data.
+ * <p>
+ * Classes with an imported base the syntactic rules do not recognise are stored as candidates.
+ * The lookups below check them by resolution once indexes are ready and leave them out in dumb mode,
+ * so a scenario with a project base class of any name is found by every consumer.
+ */
+public class VedroScenarioIndex extends FileBasedIndexExtension<String, List<VedroScenarioInfo>> {
+    public static final ID<String, List<VedroScenarioInfo>> NAME = ID.create("vedro.scenarios");
+    public static final String KEY = "scenarios";
+
+    @Override
+    public @NotNull ID<String, List<VedroScenarioInfo>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<VedroScenarioInfo>, FileContent> getIndexer() {
+        return inputData -> {
+            // Every scenario mentions either "Scenario" or "scenario", or imports its base class
+            CharSequence text = inputData.getContentAsText();
+            if (!StringUtil.contains(text, "cenario") && !StringUtil.contains(text, "import")) {
+                return Collections.emptyMap();
+            }
+            PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof PyFile pyFile)) {
+                return Collections.emptyMap();
+            }
+            List<VedroScenarioInfo> scenarios = VedroSyntaxUtils.collectScenarios(pyFile);
+            if (scenarios.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            return Collections.singletonMap(KEY, scenarios);
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<VedroScenarioInfo>> getValueExternalizer() {
+        return VedroScenarioInfoExternalizer.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(PythonFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Gets the scenarios declared in a file from the file's own index data, without touching other files' entries
+     */
+    @NotNull
+    public static List<VedroScenarioInfo> getScenarios(@NotNull Project project, @NotNull VirtualFile file) {
+        List<VedroScenarioInfo> scenarios = FileBasedIndex.getInstance().getFileData(NAME, file, project).get(KEY);
+        return scenarios != null ? narrow(project, file, scenarios) : List.of();
+    }
+
+    /**
+     * Processes every file with scenarios in the scope until the processor returns false
+     */
+    public static boolean processScenarioFiles(@NotNull Project project,
+                                               @NotNull GlobalSearchScope scope,
+                                               @NotNull FileBasedIndex.ValueProcessor<? super List<VedroScenarioInfo>> processor) {
+        return FileBasedIndex.getInstance().processValues(NAME, KEY, null, (file, scenarios) -> {
+            List<VedroScenarioInfo> narrowed = narrow(project, file, scenarios);
+            return narrowed.isEmpty() || processor.process(file, narrowed);
+        }, scope);
+    }
+
+    /**
+     * Checks if any file in the scope has scenarios, stopping at the first one.
+     * Files with scenarios the syntactic rules recognise are looked at before any candidate is resolved.
+     */
+    public static boolean containsScenarios(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        boolean recognised = !index.processValues(NAME, KEY, null,
+            (file, scenarios) -> scenarios.stream().allMatch(VedroScenarioInfo::isCandidate), scope);
+        return recognised || !processScenarioFiles(project, scope, (file, scenarios) -> false);
+    }
+
+    /**
+     * Checks if an indexed entry is a scenario: candidates are resolved, and never are in dumb mode
+     */
+    public static boolean isScenario(@NotNull Project project, @NotNull VirtualFile file, @NotNull VedroScenarioInfo info) {
+        if (!info.isCandidate()) {
+            return true;
+        }
+        if (DumbService.isDumb(project)) {
+            return false;
+        }
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        PsiElement element = psiFile != null ? findElement(psiFile, info) : null;
+        return element instanceof PyClass cls && VedroTestUtils.isScenarioClass(cls);
+    }
+
+    @NotNull
+    protected static List<VedroScenarioInfo> narrow(@NotNull Project project, @NotNull VirtualFile file,
+                                                    @NotNull List<VedroScenarioInfo> scenarios) {
+        if (scenarios.stream().noneMatch(VedroScenarioInfo::isCandidate)) {
+            return scenarios;
+        }
+        List<VedroScenarioInfo> result = new ArrayList<>(scenarios.size());
+        for (VedroScenarioInfo info : scenarios) {
+            if (isScenario(project, file, info)) {
+                result.add(info);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the class or function of an indexed entry at its offset, or by its top-level name
+     * when the file has changed since it was indexed
+     */
+    @Nullable
+    public static PsiElement findElement(@NotNull PsiFile file, @NotNull VedroScenarioInfo info) {
+        Class<? extends PsiElement> type = info.getKind() == VedroScenarioInfo.Kind.CLASS ? PyClass.class : PyFunction.class;
+        PsiElement element = PsiTreeUtil.getParentOfType(file.findElementAt(info.getOffset()), type);
+        if (element instanceof PyClass cls && info.getName().equals(cls.getName())
+            || element instanceof PyFunction fn && info.getName().equals(fn.getName())) {
+            return element;
+        }
+        if (!(file instanceof PyFile pyFile)) {
+            return null;
+        }
+        return info.getKind() == VedroScenarioInfo.Kind.CLASS
+            ? pyFile.findTopLevelClass(info.getName())
+            : pyFile.findTopLevelFunction(info.getName());
+    }
+}
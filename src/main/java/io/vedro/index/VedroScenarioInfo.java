@@ -0,0 +1,99 @@
+package io.vedro.index;
+
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Indexed description of a single scenario declared in a file
+ */
+public final class VedroScenarioInfo {
+    public enum Kind {
+        CLASS,
+        FUNCTION
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final String subject;
+    private final int paramsCount;
+    private final int offset;
+    private final boolean candidate;
+
+    public VedroScenarioInfo(@NotNull Kind kind, @NotNull String name, @Nullable String subject, int paramsCount, int offset) {
+        this(kind, name, subject, paramsCount, offset, false);
+    }
+
+    public VedroScenarioInfo(@NotNull Kind kind, @NotNull String name, @Nullable String subject, int paramsCount, int offset,
+                             boolean candidate) {
+        this.kind = kind;
+        this.name = name;
+        this.subject = subject;
+        this.paramsCount = paramsCount;
+        this.offset = offset;
+        this.candidate = candidate;
+    }
+
+    @NotNull
+    public Kind getKind() {
+        return kind;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    public String getSubject() {
+        return subject;
+    }
+
+    public int getParamsCount() {
+        return paramsCount;
+    }
+
+    /**
+     * Gets the text offset of the scenario name identifier
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Checks if this is a class the syntactic rules do not recognise but whose bases lead to an imported name,
+     * so it is a scenario only if resolution says so
+     */
+    public boolean isCandidate() {
+        return candidate;
+    }
+
+    /**
+     * Gets the number of cases vedro runs for this scenario
+     */
+    public int getCaseCount() {
+        return Math.max(1, paramsCount);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VedroScenarioInfo other)) {
+            return false;
+        }
+        return kind == other.kind
+            && paramsCount == other.paramsCount
+            && offset == other.offset
+            && candidate == other.candidate
+            && name.equals(other.name)
+            && Objects.equals(subject, other.subject);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, name, subject, paramsCount, offset, candidate);
+    }
+}
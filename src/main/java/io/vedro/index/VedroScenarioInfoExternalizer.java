@@ -0,0 +1,55 @@
+package io.vedro.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+
+/**
+ * Storage format of the scenario lists kept by the Vedro indexes
+ */
+public final class VedroScenarioInfoExternalizer implements DataExternalizer<List<VedroScenarioInfo>> {
+    public static final VedroScenarioInfoExternalizer INSTANCE = new VedroScenarioInfoExternalizer();
+
+    private VedroScenarioInfoExternalizer() {
+    }
+
+    @Override
+    public void save(@NotNull DataOutput out, List<VedroScenarioInfo> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (VedroScenarioInfo info : value) {
+            out.writeByte(info.getKind().ordinal());
+            IOUtil.writeUTF(out, info.getName());
+            out.writeBoolean(info.getSubject() != null);
+            if (info.getSubject() != null) {
+                IOUtil.writeUTF(out, info.getSubject());
+            }
+            DataInputOutputUtil.writeINT(out, info.getParamsCount());
+            DataInputOutputUtil.writeINT(out, info.getOffset());
+            out.writeBoolean(info.isCandidate());
+        }
+    }
+
+    @Override
+    public List<VedroScenarioInfo> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        List<VedroScenarioInfo> value = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            VedroScenarioInfo.Kind kind = VedroScenarioInfo.Kind.values()[in.readByte()];
+            String name = IOUtil.readUTF(in);
+            String subject = in.readBoolean() ? IOUtil.readUTF(in) : null;
+            int paramsCount = DataInputOutputUtil.readINT(in);
+            int offset = DataInputOutputUtil.readINT(in);
+            boolean candidate = in.readBoolean();
+            value.add(new VedroScenarioInfo(kind, name, subject, paramsCount, offset, candidate));
+        }
+        return value;
+    }
+}
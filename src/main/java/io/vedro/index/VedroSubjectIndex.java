@@ -0,0 +1,198 @@
+package io.vedro.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.PairProcessor;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.python.PythonFileType;
+import com.jetbrains.python.psi.PyFile;
+
+import io.vedro.util.VedroSyntaxUtils;
+
+/**
+ * Maps each prefix of up to {@link #MAX_PREFIX_LENGTH} characters of the lowercase words of a scenario subject
+ * ("prefix:" keys) and each whole subject ("subject:" keys) to the scenarios of a file that have it.
+ * A search reads the single prefix key of one query word and checks all query words on the indexed subjects.
+ * Candidate classes are stored as well and checked by {@link VedroScenarioIndex#isScenario} when reported.
+ */
+public class VedroSubjectIndex extends FileBasedIndexExtension<String, List<VedroScenarioInfo>> {
+    public static final ID<String, List<VedroScenarioInfo>> NAME = ID.create("vedro.subjects");
+
+    protected static final String PREFIX_KEY = "prefix:";
+    protected static final int MAX_PREFIX_LENGTH = 3;
+    protected static final String SUBJECT_PREFIX = "subject:";
+
+    @Override
+    public @NotNull ID<String, List<VedroScenarioInfo>> getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull DataIndexer<String, List<VedroScenarioInfo>, FileContent> getIndexer() {
+        return inputData -> {
+            if (!StringUtil.contains(inputData.getContentAsText(), "subject")) {
+                return Collections.emptyMap();
+            }
+            PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof PyFile pyFile)) {
+                return Collections.emptyMap();
+            }
+
+            Map<String, List<VedroScenarioInfo>> result = new HashMap<>();
+            for (VedroScenarioInfo info : VedroSyntaxUtils.collectScenarios(pyFile)) {
+                if (info.getSubject() == null) {
+                    continue;
+                }
+                Set<String> prefixes = new HashSet<>();
+                for (String word : getWords(info.getSubject())) {
+                    for (int length = 1; length <= Math.min(MAX_PREFIX_LENGTH, word.length()); length++) {
+                        prefixes.add(word.substring(0, length));
+                    }
+                }
+                for (String prefix : prefixes) {
+                    result.computeIfAbsent(PREFIX_KEY + prefix, p -> new ArrayList<>()).add(info);
+                }
+                result.computeIfAbsent(SUBJECT_PREFIX + info.getSubject(), s -> new ArrayList<>()).add(info);
+            }
+            return result;
+        };
+    }
+
+    @Override
+    public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @Override
+    public @NotNull DataExternalizer<List<VedroScenarioInfo>> getValueExternalizer() {
+        return VedroScenarioInfoExternalizer.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 4;
+    }
+
+    @Override
+    public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(PythonFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Splits a subject or a query into distinct lowercase words of letters and digits
+     */
+    @NotNull
+    public static Set<String> getWords(@NotNull String text) {
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(StringUtil.toLowerCase(text.substring(start, i)));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Checks if every query word is a prefix of a word of the subject
+     */
+    public static boolean matches(@Nullable String subject, @NotNull Set<String> queryWords) {
+        if (subject == null) {
+            return false;
+        }
+        Set<String> subjectWords = getWords(subject);
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String subjectWord : subjectWords) {
+                if (subjectWord.startsWith(queryWord)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Processes the scenarios whose subject matches the query until the processor returns false.
+     * Must be called in a read action with indexes available.
+     */
+    public static boolean processMatches(@NotNull Project project,
+                                         @NotNull String query,
+                                         @NotNull GlobalSearchScope scope,
+                                         @NotNull PairProcessor<? super VirtualFile, ? super VedroScenarioInfo> processor) {
+        Set<String> queryWords = getWords(query);
+        if (queryWords.isEmpty()) {
+            return true;
+        }
+
+        // The longest word has the longest, so most selective, prefix key
+        String longest = Collections.max(queryWords, (a, b) -> Integer.compare(a.length(), b.length()));
+        String lookupKey = PREFIX_KEY + longest.substring(0, Math.min(MAX_PREFIX_LENGTH, longest.length()));
+        return FileBasedIndex.getInstance().processValues(NAME, lookupKey, null, (file, scenarios) -> {
+            for (VedroScenarioInfo info : scenarios) {
+                ProgressManager.checkCanceled();
+                if (matches(info.getSubject(), queryWords)
+                    && VedroScenarioIndex.isScenario(project, file, info)
+                    && !processor.process(file, info)) {
+                    return false;
+                }
+            }
+            return true;
+        }, scope);
+    }
+
+    /**
+     * Processes the scenarios with exactly the given subject until the processor returns false.
+     * Must be called in a read action with indexes available.
+     */
+    public static boolean processSameSubject(@NotNull Project project,
+                                             @NotNull String subject,
+                                             @NotNull GlobalSearchScope scope,
+                                             @NotNull PairProcessor<? super VirtualFile, ? super VedroScenarioInfo> processor) {
+        return FileBasedIndex.getInstance().processValues(NAME, SUBJECT_PREFIX + subject, null, (file, scenarios) -> {
+            for (VedroScenarioInfo info : scenarios) {
+                if (VedroScenarioIndex.isScenario(project, file, info) && !processor.process(file, info)) {
+                    return false;
+                }
+            }
+            return true;
+        }, scope);
+    }
+}
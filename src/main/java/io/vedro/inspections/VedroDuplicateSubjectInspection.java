@@ -0,0 +1,67 @@
+package io.vedro.inspections;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.jetbrains.python.psi.PyStringLiteralExpression;
+
+import io.vedro.index.VedroScenarioInfo;
+import io.vedro.index.VedroSubjectIndex;
+
+/**
+ * Reports scenario subjects used by another scenario under the same config root.
+ * Scenarios with the same subject share one key of {@link VedroSubjectIndex}, so each check is a single lookup.
+ */
+public class VedroDuplicateSubjectInspection extends VedroSubjectInspectionBase {
+    protected static final int MAX_LISTED = 3;
+
+    @Override
+    protected void checkSubject(@NotNull VirtualFile file,
+                                @NotNull VirtualFile configRoot,
+                                @NotNull VedroScenarioInfo info,
+                                @NotNull PyStringLiteralExpression subjectLiteral,
+                                @NotNull InspectionManager manager,
+                                boolean isOnTheFly,
+                                @NotNull List<ProblemDescriptor> problems) {
+        Project project = manager.getProject();
+        List<String> others = new ArrayList<>();
+        int[] count = {0};
+        GlobalSearchScope scope = GlobalSearchScopesCore.directoryScope(project, configRoot, true)
+            .intersectWith(GlobalSearchScope.projectScope(project));
+        VedroSubjectIndex.processSameSubject(project, info.getSubject(), scope, (otherFile, other) -> {
+            if (otherFile.equals(file) && other.getOffset() == info.getOffset()) {
+                return true;
+            }
+            if (count[0]++ < MAX_LISTED) {
+                others.add(getLocation(project, otherFile, other));
+            }
+            return true;
+        });
+        if (count[0] == 0) {
+            return;
+        }
+
+        String message = "Subject is also used by " + String.join(", ", others)
+            + (count[0] > MAX_LISTED ? " and " + (count[0] - MAX_LISTED) + " more" : "");
+        problems.add(manager.createProblemDescriptor(subjectLiteral, message, isOnTheFly,
+            LocalQuickFix.EMPTY_ARRAY, ProblemHighlightType.GENERIC_ERROR_OR_WARNING));
+    }
+
+    @NotNull
+    protected static String getLocation(@NotNull Project project, @NotNull VirtualFile file, @NotNull VedroScenarioInfo info) {
+        String basePath = project.getBasePath();
+        String path = basePath != null ? FileUtil.getRelativePath(basePath, file.getPath(), '/') : null;
+        return (path != null ? path : file.getPath()) + "::" + info.getName();
+    }
+}
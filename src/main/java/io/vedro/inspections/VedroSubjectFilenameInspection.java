@@ -0,0 +1,44 @@
+package io.vedro.inspections;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.codeInsight.daemon.impl.quickfix.RenameFileFix;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.jetbrains.python.psi.PyStringLiteralExpression;
+
+import io.vedro.index.VedroScenarioInfo;
+import io.vedro.util.VedroTestUtils;
+
+/**
+ * Reports scenario files whose name does not follow the subject, by the rule of {@link VedroTestUtils#convertSubjectToFilename}.
+ * Only files with a single scenario class are checked, as several subjects cannot all name the file.
+ */
+public class VedroSubjectFilenameInspection extends VedroSubjectInspectionBase {
+    @Override
+    protected boolean isApplicable(@NotNull List<VedroScenarioInfo> scenarios) {
+        return scenarios.stream().filter(info -> info.getKind() == VedroScenarioInfo.Kind.CLASS).count() == 1;
+    }
+
+    @Override
+    protected void checkSubject(@NotNull VirtualFile file,
+                                @NotNull VirtualFile configRoot,
+                                @NotNull VedroScenarioInfo info,
+                                @NotNull PyStringLiteralExpression subjectLiteral,
+                                @NotNull InspectionManager manager,
+                                boolean isOnTheFly,
+                                @NotNull List<ProblemDescriptor> problems) {
+        String expected = VedroTestUtils.convertSubjectToFilename(info.getSubject());
+        if (file.getName().equals(expected)) {
+            return;
+        }
+
+        String message = "File name does not match the subject, expected '" + expected + "'";
+        problems.add(manager.createProblemDescriptor(subjectLiteral, message, isOnTheFly,
+            new RenameFileFix[]{new RenameFileFix(expected)}, ProblemHighlightType.GENERIC_ERROR_OR_WARNING));
+    }
+}
@@ -0,0 +1,99 @@
+package io.vedro.inspections;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.jetbrains.python.psi.PyClass;
+import com.jetbrains.python.psi.PyExpression;
+import com.jetbrains.python.psi.PyFile;
+import com.jetbrains.python.psi.PyStringLiteralExpression;
+import com.jetbrains.python.psi.PyTargetExpression;
+
+import io.vedro.config.VedroConfigRootService;
+import io.vedro.config.VedroRunConfiguration;
+import io.vedro.index.VedroScenarioIndex;
+import io.vedro.index.VedroScenarioInfo;
+
+/**
+ * Checks the subjects of the scenario classes listed for a file in {@link VedroScenarioIndex},
+ * so a batch run does not resolve a single class. Files with no Vedro config file above them are skipped.
+ */
+public abstract class VedroSubjectInspectionBase extends LocalInspectionTool {
+    @Override
+    public ProblemDescriptor @Nullable [] checkFile(@NotNull PsiFile file, @NotNull InspectionManager manager, boolean isOnTheFly) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (!(file instanceof PyFile) || virtualFile == null) {
+            return null;
+        }
+        Path configFile = VedroConfigRootService.getInstance(file.getProject())
+            .findConfigFile(virtualFile, VedroRunConfiguration.DEFAULT_CONFIG_FILE_NAME);
+        VirtualFile configRoot = configFile != null
+            ? LocalFileSystem.getInstance().findFileByNioFile(configFile.getParent())
+            : null;
+        if (configRoot == null) {
+            return null;
+        }
+
+        List<VedroScenarioInfo> scenarios = VedroScenarioIndex.getScenarios(file.getProject(), virtualFile);
+        if (!isApplicable(scenarios)) {
+            return null;
+        }
+
+        List<ProblemDescriptor> problems = new ArrayList<>();
+        for (VedroScenarioInfo info : scenarios) {
+            if (info.getKind() != VedroScenarioInfo.Kind.CLASS || info.getSubject() == null) {
+                continue;
+            }
+            PyStringLiteralExpression literal = findSubjectLiteral(file, info);
+            if (literal != null) {
+                checkSubject(virtualFile, configRoot, info, literal, manager, isOnTheFly, problems);
+            }
+        }
+        return problems.isEmpty() ? null : problems.toArray(ProblemDescriptor.EMPTY_ARRAY);
+    }
+
+    /**
+     * Checks if the subjects of a file with the given scenarios are checked at all
+     */
+    protected boolean isApplicable(@NotNull List<VedroScenarioInfo> scenarios) {
+        return true;
+    }
+
+    /**
+     * @param configRoot the directory with the config file of the Vedro project containing the file
+     */
+    protected abstract void checkSubject(@NotNull VirtualFile file,
+                                         @NotNull VirtualFile configRoot,
+                                         @NotNull VedroScenarioInfo info,
+                                         @NotNull PyStringLiteralExpression subjectLiteral,
+                                         @NotNull InspectionManager manager,
+                                         boolean isOnTheFly,
+                                         @NotNull List<ProblemDescriptor> problems);
+
+    /**
+     * Finds the subject literal of an indexed scenario class, or null if the index lags behind the edited file
+     * and the class or its subject no longer match
+     */
+    @Nullable
+    protected static PyStringLiteralExpression findSubjectLiteral(@NotNull PsiFile file, @NotNull VedroScenarioInfo info) {
+        if (!(VedroScenarioIndex.findElement(file, info) instanceof PyClass cls)) {
+            return null;
+        }
+        PyTargetExpression attribute = cls.findClassAttribute("subject", false, null);
+        PyExpression value = attribute != null ? attribute.findAssignedValue() : null;
+        if (!(value instanceof PyStringLiteralExpression literal)) {
+            return null;
+        }
+        return literal.getStringValue().trim().equals(info.getSubject()) ? literal : null;
+    }
+}
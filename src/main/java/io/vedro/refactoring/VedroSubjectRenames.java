@@ -0,0 +1,142 @@
+package io.vedro.refactoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.application.ex.ApplicationManagerEx;
+import com.intellij.openapi.command.CommandProcessor;
+import com.intellij.openapi.command.UndoConfirmationPolicy;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.IncorrectOperationException;
+
+import io.vedro.index.VedroScenarioIndex;
+import io.vedro.index.VedroScenarioInfo;
+import io.vedro.util.VedroTestUtils;
+
+/**
+ * Finds scenario files whose names do not match their subjects and renames them in one undoable command
+ */
+public class VedroSubjectRenames {
+    public static final String COMMAND_NAME = "Rename Files to Match Subjects";
+
+    public static final class Candidate {
+        public final VirtualFile file;
+        public final String subject;
+        public final String newName;
+        // Null if the rename can be applied
+        public final String problem;
+
+        Candidate(@NotNull VirtualFile file, @NotNull String subject, @NotNull String newName, @Nullable String problem) {
+            this.file = file;
+            this.subject = subject;
+            this.newName = newName;
+            this.problem = problem;
+        }
+
+        public boolean isApplicable() {
+            return problem == null;
+        }
+    }
+
+    /**
+     * Collects the mismatched files in the scope from the scenario index.
+     * Must be called in a read action with indexes available.
+     */
+    @NotNull
+    public static List<Candidate> findCandidates(@NotNull Project project, @NotNull GlobalSearchScope scope) {
+        Map<VirtualFile, Set<String>> subjects = new HashMap<>();
+        VedroScenarioIndex.processScenarioFiles(project, scope, (file, scenarios) -> {
+            ProgressManager.checkCanceled();
+            for (VedroScenarioInfo info : scenarios) {
+                if (info.getSubject() != null) {
+                    subjects.computeIfAbsent(file, f -> new LinkedHashSet<>()).add(info.getSubject());
+                }
+            }
+            return true;
+        });
+
+        List<Candidate> candidates = new ArrayList<>();
+        // parent directory -> new name -> files that want it
+        Map<VirtualFile, Map<String, List<VirtualFile>>> targets = new HashMap<>();
+        subjects.forEach((file, fileSubjects) -> {
+            String subject = fileSubjects.iterator().next();
+            String newName = VedroTestUtils.convertSubjectToFilename(subject);
+            if (file.getName().equals(newName) || file.getParent() == null) {
+                return;
+            }
+            if (fileSubjects.size() > 1) {
+                candidates.add(new Candidate(file, subject, newName, "Several scenarios with different subjects"));
+                return;
+            }
+            targets.computeIfAbsent(file.getParent(), dir -> new HashMap<>())
+                .computeIfAbsent(newName, name -> new ArrayList<>())
+                .add(file);
+        });
+
+        targets.forEach((dir, byName) -> byName.forEach((newName, files) -> {
+            VirtualFile existing = dir.findChild(newName);
+            for (VirtualFile file : files) {
+                String problem = null;
+                if (files.size() > 1) {
+                    problem = "Same name as " + (files.size() - 1) + " other file(s)";
+                } else if (existing != null && !existing.equals(file)) {
+                    problem = "'" + newName + "' already exists";
+                }
+                candidates.add(new Candidate(file, subjects.get(file).iterator().next(), newName, problem));
+            }
+        }));
+
+        candidates.sort((a, b) -> a.file.getPath().compareTo(b.file.getPath()));
+        return candidates;
+    }
+
+    /**
+     * Renames all applicable candidates in a single write action and command, so the batch is undone at once
+     */
+    public static void apply(@NotNull Project project, @NotNull List<Candidate> candidates) {
+        List<Candidate> applicable = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (candidate.isApplicable()) {
+                applicable.add(candidate);
+            }
+        }
+        if (applicable.isEmpty()) {
+            return;
+        }
+
+        CommandProcessor.getInstance().executeCommand(project, () ->
+            ApplicationManagerEx.getApplicationEx().runWriteActionWithNonCancellableProgressInDispatchThread(
+                COMMAND_NAME, project, null, indicator -> {
+                    indicator.setIndeterminate(false);
+                    PsiManager psiManager = PsiManager.getInstance(project);
+                    for (int i = 0; i < applicable.size(); i++) {
+                        Candidate candidate = applicable.get(i);
+                        indicator.setFraction((double) i / applicable.size());
+                        indicator.setText2(candidate.file.getName());
+
+                        PsiFile psiFile = candidate.file.isValid() ? psiManager.findFile(candidate.file) : null;
+                        if (psiFile == null) {
+                            continue;
+                        }
+                        try {
+                            psiFile.setName(candidate.newName);
+                        } catch (IncorrectOperationException ignored) {
+                            // The file was renamed or a collision appeared after the preview
+                        }
+                    }
+                }),
+            COMMAND_NAME, null, UndoConfirmationPolicy.REQUEST_CONFIRMATION);
+    }
+}
@@ -1,14 +1,18 @@
 package io.vedro.ui.editor;
 
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
+import javax.swing.JSpinner;
 import javax.swing.JTextField;
+import javax.swing.SpinnerNumberModel;
 
 import org.jetbrains.annotations.NotNull;
 
 import com.intellij.openapi.options.ConfigurationException;
 import com.intellij.openapi.options.SettingsEditor;
 import com.intellij.openapi.project.Project;
+import com.intellij.util.execution.ParametersListUtil;
 import com.jetbrains.python.run.AbstractPyCommonOptionsForm;
 import com.jetbrains.python.run.PyCommonOptionsFormData;
 import com.jetbrains.python.run.PyCommonOptionsFormFactory;
@@ -17,7 +21,13 @@ import io.vedro.config.VedroRunConfiguration;
 
 public class VedroSettingsEditorForm extends SettingsEditor<VedroRunConfiguration> {
     protected JPanel rootPanel;
+    protected JTextField targetsField;
     protected JTextField runnerOptionsField;
+    protected JCheckBox parallelCheckBox;
+    protected JSpinner parallelWorkersSpinner;
+    protected JCheckBox warmRunnerCheckBox;
+    protected JCheckBox structuredEventsCheckBox;
+    protected JCheckBox watchCheckBox;
 
     protected AbstractPyCommonOptionsForm commonOptionsForm;
     protected JPanel commonOptionsPlaceholder;
@@ -26,18 +36,34 @@ public class VedroSettingsEditorForm extends SettingsEditor<VedroRunConfiguratio
         PyCommonOptionsFormData formData = configuration.getCommonOptionsFormData();
         commonOptionsForm = PyCommonOptionsFormFactory.getInstance().createForm(formData);
         commonOptionsPlaceholder.add(commonOptionsForm.getMainPanel());
+
+        parallelWorkersSpinner.setModel(new SpinnerNumberModel(0, 0, 256, 1));
+        parallelCheckBox.addActionListener(e -> parallelWorkersSpinner.setEnabled(parallelCheckBox.isSelected()));
     }
 
     @Override
     protected void resetEditorFrom(@NotNull VedroRunConfiguration configuration) {
         VedroRunConfiguration.copyParams(configuration, commonOptionsForm);
+        targetsField.setText(ParametersListUtil.join(configuration.getTargets()));
         runnerOptionsField.setText(configuration.getRunnerOptions());
+        parallelCheckBox.setSelected(configuration.isParallel());
+        parallelWorkersSpinner.setValue(configuration.getParallelWorkers());
+        parallelWorkersSpinner.setEnabled(configuration.isParallel());
+        warmRunnerCheckBox.setSelected(configuration.isWarmRunner());
+        structuredEventsCheckBox.setSelected(configuration.isStructuredEvents());
+        watchCheckBox.setSelected(configuration.isWatch());
     }
 
     @Override
     protected void applyEditorTo(@NotNull VedroRunConfiguration configuration) throws ConfigurationException {
         VedroRunConfiguration.copyParams(commonOptionsForm, configuration);
+        configuration.setTargets(ParametersListUtil.parse(targetsField.getText()));
         configuration.setRunnerOptions(runnerOptionsField.getText());
+        configuration.setParallel(parallelCheckBox.isSelected());
+        configuration.setParallelWorkers((Integer) parallelWorkersSpinner.getValue());
+        configuration.setWarmRunner(warmRunnerCheckBox.isSelected());
+        configuration.setStructuredEvents(structuredEventsCheckBox.isSelected());
+        configuration.setWatch(watchCheckBox.isSelected());
     }
 
     @Override
@@ -0,0 +1,163 @@
+package io.vedro.ui.history;
+
+import java.awt.Dimension;
+import java.awt.event.MouseEvent;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.swing.JComponent;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellRenderer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+
+import io.vedro.history.VedroDurationHistory;
+import io.vedro.index.VedroScenarioIndex;
+import io.vedro.index.VedroScenarioInfo;
+
+/**
+ * Lists the scenarios with the largest median duration; double-click opens a scenario
+ */
+public class VedroSlowestScenariosDialog extends DialogWrapper {
+    public static final int LIMIT = 200;
+
+    protected final Project project;
+    protected final TableView<VedroDurationHistory.Stats> table;
+
+    public VedroSlowestScenariosDialog(@NotNull Project project) {
+        super(project);
+        this.project = project;
+
+        List<VedroDurationHistory.Stats> stats = VedroDurationHistory.getInstance(project).getSlowest(LIMIT);
+        table = new TableView<>(new ListTableModel<>(createColumns(), stats));
+        new DoubleClickListener() {
+            @Override
+            protected boolean onDoubleClick(@NotNull MouseEvent event) {
+                VedroDurationHistory.Stats selected = table.getSelectedObject();
+                if (selected != null) {
+                    navigate(selected.key);
+                    close(OK_EXIT_CODE);
+                }
+                return true;
+            }
+        }.installOn(table);
+
+        setTitle("Slowest Vedro Scenarios");
+        setModal(false);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        JComponent panel = ScrollPaneFactory.createScrollPane(table);
+        panel.setPreferredSize(new Dimension(800, 500));
+        return panel;
+    }
+
+    protected void navigate(@NotNull String key) {
+        int separator = key.indexOf("::");
+        if (separator <= 0) {
+            return;
+        }
+        String path = key.substring(0, separator);
+        if (!FileUtil.isAbsolute(path) && project.getBasePath() != null) {
+            path = project.getBasePath() + "/" + path;
+        }
+        VirtualFile file = LocalFileSystem.getInstance().findFileByPath(path);
+        if (file == null) {
+            return;
+        }
+
+        String name = StringUtil.substringBefore(key.substring(separator + 2), "#");
+        if (name == null) {
+            name = key.substring(separator + 2);
+        }
+        int offset = 0;
+        if (!DumbService.isDumb(project)) {
+            for (VedroScenarioInfo info : VedroScenarioIndex.getScenarios(project, file)) {
+                if (info.getName().equals(name)) {
+                    offset = info.getOffset();
+                    break;
+                }
+            }
+        }
+        new OpenFileDescriptor(project, file, offset).navigate(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static ColumnInfo<VedroDurationHistory.Stats, ?>[] createColumns() {
+        return new ColumnInfo[]{
+            new ColumnInfo<VedroDurationHistory.Stats, String>("Scenario") {
+                @Override
+                public String valueOf(VedroDurationHistory.Stats stats) {
+                    return stats.key;
+                }
+            },
+            new DurationColumn("Median") {
+                @Override
+                public Long valueOf(VedroDurationHistory.Stats stats) {
+                    return stats.medianMs;
+                }
+            },
+            new DurationColumn("Last") {
+                @Override
+                public Long valueOf(VedroDurationHistory.Stats stats) {
+                    return stats.last.durationMs;
+                }
+            },
+            new ColumnInfo<VedroDurationHistory.Stats, String>("Last Outcome") {
+                @Override
+                public String valueOf(VedroDurationHistory.Stats stats) {
+                    return StringUtil.toLowerCase(stats.last.outcome.name());
+                }
+            },
+            new ColumnInfo<VedroDurationHistory.Stats, Integer>("Runs") {
+                @Override
+                public Integer valueOf(VedroDurationHistory.Stats stats) {
+                    return stats.runs;
+                }
+
+                @Override
+                public Comparator<VedroDurationHistory.Stats> getComparator() {
+                    return Comparator.comparingInt(stats -> stats.runs);
+                }
+            },
+        };
+    }
+
+    protected abstract static class DurationColumn extends ColumnInfo<VedroDurationHistory.Stats, Long> {
+        DurationColumn(@NotNull String name) {
+            super(name);
+        }
+
+        @Override
+        public Comparator<VedroDurationHistory.Stats> getComparator() {
+            return Comparator.comparingLong(this::valueOf);
+        }
+
+        @Override
+        public @Nullable TableCellRenderer getRenderer(VedroDurationHistory.Stats stats) {
+            return new DefaultTableCellRenderer() {
+                @Override
+                protected void setValue(Object value) {
+                    setText(value instanceof Long ms ? StringUtil.formatDuration(ms) : "");
+                }
+            };
+        }
+    }
+}
@@ -8,45 +8,112 @@ import org.jetbrains.annotations.Nullable;
 import com.intellij.execution.lineMarker.ExecutorAction;
 import com.intellij.execution.lineMarker.RunLineMarkerContributor;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.jetbrains.python.psi.PyCallExpression;
 import com.jetbrains.python.psi.PyClass;
 import com.jetbrains.python.psi.PyDecorator;
 import com.jetbrains.python.psi.PyFunction;
 
-import io.vedro.util.VedroTestUtils;
+import io.vedro.execution.VedroTestTargets;
+import io.vedro.history.VedroDurationHistory;
+import io.vedro.history.VedroTestResultCache;
+import io.vedro.util.VedroPerfStats;
+import io.vedro.util.VedroScenarioDetector;
 
-public class VedroRunLineMarkerContributor extends RunLineMarkerContributor{
+public class VedroRunLineMarkerContributor extends RunLineMarkerContributor implements DumbAware {
     protected static Icon ICON_RUN_SCENARIO = AllIcons.RunConfigurations.TestState.Run;
     protected static Icon ICON_RUN_PARAMS = AllIcons.RunConfigurations.TestState.Run_run;
+    protected static Icon ICON_PASSED = AllIcons.RunConfigurations.TestState.Green2;
+    protected static Icon ICON_FAILED = AllIcons.RunConfigurations.TestState.Red2;
+    protected static Icon ICON_SKIPPED = AllIcons.RunConfigurations.TestState.Yellow2;
 
     @Override
     public @Nullable Info getInfo(@NotNull PsiElement element) {
+        long start = VedroPerfStats.start();
+        try {
+            return computeInfo(element);
+        } finally {
+            VedroPerfStats.stop(VedroPerfStats.Metric.RUN_MARKER_INFO, start);
+        }
+    }
+
+    @Nullable
+    protected Info computeInfo(@NotNull PsiElement element) {
         if (element.getFirstChild() == null) {
             PsiElement parent = element.getParent();
 
             if (parent instanceof PyClass cls
                 && element.equals(cls.getNameIdentifier())
-                && VedroTestUtils.isScenarioClass(cls)) {
-                return new Info(ICON_RUN_SCENARIO, ExecutorAction.getActions(), null);
+                && VedroScenarioDetector.isScenarioClass(cls)) {
+                return new Info(getIcon(element, ICON_RUN_SCENARIO), ExecutorAction.getActions(), VedroRunLineMarkerContributor::getDurationTooltip);
             }
 
             if (parent instanceof PyFunction fn
                 && element.equals(fn.getNameIdentifier())
-                && VedroTestUtils.isScenarioFunction(fn)) {
-                return new Info(ICON_RUN_SCENARIO, ExecutorAction.getActions(), null);
+                && VedroScenarioDetector.isScenarioFunction(fn)) {
+                return new Info(getIcon(element, ICON_RUN_SCENARIO), ExecutorAction.getActions(), VedroRunLineMarkerContributor::getDurationTooltip);
             }
 
             return null;
         }
         if (element instanceof PyDecorator dec
-            && VedroTestUtils.isParamsDecorator(dec)) {
-            return new Info(ICON_RUN_PARAMS, ExecutorAction.getActions(), null);
+            && VedroScenarioDetector.isParamsDecorator(dec)) {
+            return new Info(getIcon(element, ICON_RUN_PARAMS), ExecutorAction.getActions(), VedroRunLineMarkerContributor::getDurationTooltip);
         }
         if (element instanceof PyCallExpression call
-            && VedroTestUtils.isParamsCall(call)) {
-            return new Info(ICON_RUN_PARAMS, ExecutorAction.getActions(), null);
+            && VedroScenarioDetector.isParamsCall(call)) {
+            return new Info(getIcon(element, ICON_RUN_PARAMS), ExecutorAction.getActions(), VedroRunLineMarkerContributor::getDurationTooltip);
         }
         return null;
     }
+
+    /**
+     * Gets the icon for the last outcome of the scenario or params row in this session, or the neutral one
+     */
+    @NotNull
+    protected static Icon getIcon(@NotNull PsiElement element, @NotNull Icon neutralIcon) {
+        String key = getHistoryKey(element);
+        VedroDurationHistory.Outcome outcome = key != null ? VedroTestResultCache.getInstance(element.getProject()).get(key) : null;
+        if (outcome == null) {
+            return neutralIcon;
+        }
+        return switch (outcome) {
+            case PASSED -> ICON_PASSED;
+            case FAILED -> ICON_FAILED;
+            case SKIPPED -> ICON_SKIPPED;
+        };
+    }
+
+    @Nullable
+    protected static String getHistoryKey(@NotNull PsiElement element) {
+        String scenarioName = VedroTestTargets.getScenarioName(element);
+        VirtualFile file = element.getContainingFile().getVirtualFile();
+        if (scenarioName == null || file == null) {
+            return null;
+        }
+        return VedroDurationHistory.getKey(element.getProject(), file.getPath(), scenarioName);
+    }
+
+    /**
+     * Describes the last and median durations of the scenario from the local run history
+     */
+    @Nullable
+    protected static String getDurationTooltip(@NotNull PsiElement element) {
+        String key = getHistoryKey(element);
+        if (key == null) {
+            return null;
+        }
+
+        VedroDurationHistory.Stats stats = VedroDurationHistory.getInstance(element.getProject()).getStats(key);
+        if (stats == null) {
+            return null;
+        }
+        return "Last run: " + StringUtil.formatDuration(stats.last.durationMs)
+            + " (" + StringUtil.toLowerCase(stats.last.outcome.name()) + ")"
+            + ", median: " + StringUtil.formatDuration(stats.medianMs)
+            + " over " + stats.runs + (stats.runs == 1 ? " run" : " runs");
+    }
 }
@@ -16,6 +16,7 @@ import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
@@ -26,13 +27,25 @@ import com.jetbrains.python.psi.PyExpression;
 import com.jetbrains.python.psi.PyStringLiteralExpression;
 import com.jetbrains.python.psi.PyTargetExpression;
 
+import io.vedro.util.VedroPerfStats;
+import io.vedro.util.VedroScenarioDetector;
 import io.vedro.util.VedroTestUtils;
 
-public class VedroSubjectLineMarkerContributor extends RunLineMarkerContributor {
+public class VedroSubjectLineMarkerContributor extends RunLineMarkerContributor implements DumbAware {
     private static final Icon ICON_RENAME_FILE = AllIcons.Actions.Edit;
 
     @Override
     public @Nullable Info getInfo(@NotNull PsiElement element) {
+        long start = VedroPerfStats.start();
+        try {
+            return computeInfo(element);
+        } finally {
+            VedroPerfStats.stop(VedroPerfStats.Metric.SUBJECT_MARKER_INFO, start);
+        }
+    }
+
+    @Nullable
+    protected Info computeInfo(@NotNull PsiElement element) {
         if (element.getFirstChild() != null) {
             return null;
         }
@@ -55,7 +68,7 @@ public class VedroSubjectLineMarkerContributor extends RunLineMarkerContributor
         }
 
         String curFilename = subjectInfo.containingFile.getName();
-        String newFilename = convertSubjectToFilename(subjectInfo.subjectValue);
+        String newFilename = VedroTestUtils.convertSubjectToFilename(subjectInfo.subjectValue);
         if (curFilename.equals(newFilename)) {
             return null;
         }
@@ -89,7 +102,7 @@ public class VedroSubjectLineMarkerContributor extends RunLineMarkerContributor
     @Nullable
     private SubjectInfo extractSubjectInfo(PyAssignmentStatement assignment) {
         PyClass containingClass = PsiTreeUtil.getParentOfType(assignment, PyClass.class);
-        if (containingClass == null || !VedroTestUtils.isScenarioClass(containingClass)) {
+        if (containingClass == null || !VedroScenarioDetector.isScenarioClass(containingClass)) {
             return null;
         }
 
@@ -108,7 +121,7 @@ public class VedroSubjectLineMarkerContributor extends RunLineMarkerContributor
     }
 
     private void renameFileFromSubject(Project project, SubjectInfo subjectInfo) {
-        String newFilename = convertSubjectToFilename(subjectInfo.subjectValue);
+        String newFilename = VedroTestUtils.convertSubjectToFilename(subjectInfo.subjectValue);
 
         // Skip if the filename is already correct
         if (subjectInfo.containingFile.getName().equals(newFilename)) {
@@ -134,14 +147,6 @@ public class VedroSubjectLineMarkerContributor extends RunLineMarkerContributor
         });
     }
 
-    private String convertSubjectToFilename(String subject) {
-        String filtered = subject
-            .toLowerCase()
-            .replaceAll("\\s+", "_")
-            .replaceAll("[^\\p{L}\\p{N}_\\-\\(\\)]", "");
-        return filtered.isEmpty() ? "untitled.py" : (filtered + ".py");
-    }
-
     private static class SubjectInfo {
         final String subjectValue;
         final VirtualFile containingFile;
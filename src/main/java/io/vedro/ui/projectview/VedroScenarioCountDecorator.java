@@ -0,0 +1,50 @@
+package io.vedro.ui.projectview;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.ide.projectView.PresentationData;
+import com.intellij.ide.projectView.ProjectViewNode;
+import com.intellij.ide.projectView.ProjectViewNodeDecorator;
+import com.intellij.ide.projectView.impl.nodes.PsiDirectoryNode;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+
+import io.vedro.config.VedroConfigRootService;
+import io.vedro.config.VedroRunConfiguration;
+import io.vedro.index.VedroScenarioCounts;
+
+/**
+ * Shows the number of scenarios and cases next to directories under a vedro.cfg.py root
+ */
+public class VedroScenarioCountDecorator implements ProjectViewNodeDecorator {
+    @Override
+    public void decorate(ProjectViewNode<?> node, PresentationData data) {
+        Project project = node.getProject();
+        VirtualFile dir = node.getVirtualFile();
+        if (!(node instanceof PsiDirectoryNode) || project == null || dir == null || !dir.isDirectory()) {
+            return;
+        }
+
+        VedroScenarioCounts.Counts counts = VedroScenarioCounts.getInstance(project).getCounts(dir);
+        if (counts == null) {
+            return;
+        }
+        if (VedroConfigRootService.getInstance(project).findConfigFile(dir, VedroRunConfiguration.DEFAULT_CONFIG_FILE_NAME) == null) {
+            return;
+        }
+
+        String label = getLabel(counts);
+        String location = data.getLocationString();
+        data.setLocationString(StringUtil.isEmpty(location) ? label : location + ", " + label);
+    }
+
+    @NotNull
+    protected static String getLabel(@NotNull VedroScenarioCounts.Counts counts) {
+        String label = counts.getScenarios() + (counts.getScenarios() == 1 ? " scenario" : " scenarios");
+        if (counts.getCases() != counts.getScenarios()) {
+            label += ", " + counts.getCases() + " cases";
+        }
+        return label;
+    }
+}
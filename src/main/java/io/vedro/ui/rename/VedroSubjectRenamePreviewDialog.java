@@ -0,0 +1,75 @@
+package io.vedro.ui.rename;
+
+import java.awt.Dimension;
+import java.util.List;
+
+import javax.swing.JComponent;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+
+import io.vedro.refactoring.VedroSubjectRenames;
+
+/**
+ * Shows the planned subject renames; conflicting ones are listed with their problem and skipped
+ */
+public class VedroSubjectRenamePreviewDialog extends DialogWrapper {
+    protected final Project project;
+    protected final List<VedroSubjectRenames.Candidate> candidates;
+
+    public VedroSubjectRenamePreviewDialog(@NotNull Project project, @NotNull List<VedroSubjectRenames.Candidate> candidates) {
+        super(project);
+        this.project = project;
+        this.candidates = candidates;
+
+        long applicable = candidates.stream().filter(VedroSubjectRenames.Candidate::isApplicable).count();
+        setTitle(VedroSubjectRenames.COMMAND_NAME);
+        setOKButtonText("Rename " + applicable + (applicable == 1 ? " File" : " Files"));
+        setOKActionEnabled(applicable > 0);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        TableView<VedroSubjectRenames.Candidate> table = new TableView<>(new ListTableModel<>(createColumns(), candidates));
+        JComponent panel = ScrollPaneFactory.createScrollPane(table);
+        panel.setPreferredSize(new Dimension(900, 500));
+        return panel;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected ColumnInfo<VedroSubjectRenames.Candidate, String>[] createColumns() {
+        return new ColumnInfo[]{
+            new ColumnInfo<VedroSubjectRenames.Candidate, String>("File") {
+                @Override
+                public String valueOf(VedroSubjectRenames.Candidate candidate) {
+                    VirtualFile baseDir = ProjectUtil.guessProjectDir(project);
+                    String path = baseDir != null ? VfsUtilCore.getRelativePath(candidate.file, baseDir) : null;
+                    return path != null ? path : candidate.file.getPath();
+                }
+            },
+            new ColumnInfo<VedroSubjectRenames.Candidate, String>("New Name") {
+                @Override
+                public String valueOf(VedroSubjectRenames.Candidate candidate) {
+                    return candidate.newName;
+                }
+            },
+            new ColumnInfo<VedroSubjectRenames.Candidate, String>("Status") {
+                @Override
+                public String valueOf(VedroSubjectRenames.Candidate candidate) {
+                    return candidate.isApplicable() ? "Rename" : "Skipped: " + candidate.problem;
+                }
+            },
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package io.vedro.ui.search;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.swing.JList;
+import javax.swing.ListCellRenderer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributor;
+import com.intellij.ide.actions.searcheverywhere.SearchEverywhereContributorFactory;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.ui.ColoredListCellRenderer;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.util.Processor;
+
+import io.vedro.index.VedroScenarioInfo;
+import io.vedro.index.VedroSubjectIndex;
+
+/**
+ * Search Everywhere tab that finds scenarios by words of their subject through {@link VedroSubjectIndex}
+ */
+public class VedroSubjectSearchContributor implements SearchEverywhereContributor<VedroSubjectSearchContributor.Item> {
+    protected final Project project;
+
+    public VedroSubjectSearchContributor(@NotNull Project project) {
+        this.project = project;
+    }
+
+    @Override
+    public @NotNull String getSearchProviderId() {
+        return VedroSubjectSearchContributor.class.getSimpleName();
+    }
+
+    @Override
+    public @NotNull String getGroupName() {
+        return "Vedro Subjects";
+    }
+
+    @Override
+    public int getSortWeight() {
+        return 1000;
+    }
+
+    @Override
+    public boolean showInFindResults() {
+        return false;
+    }
+
+    @Override
+    public boolean isShownInSeparateTab() {
+        return true;
+    }
+
+    @Override
+    public void fetchElements(@NotNull String pattern,
+                              @NotNull ProgressIndicator progressIndicator,
+                              @NotNull Processor<? super Item> consumer) {
+        if (StringUtil.isEmptyOrSpaces(pattern) || DumbService.isDumb(project)) {
+            return;
+        }
+
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        // A write action cancels the search, which then starts over without reporting the same scenarios again
+        Set<String> reported = new HashSet<>();
+        boolean completed = false;
+        while (!completed && !progressIndicator.isCanceled()) {
+            ProgressIndicatorUtils.yieldToPendingWriteActions();
+            completed = ProgressIndicatorUtils.runInReadActionWithWriteActionPriority(() ->
+                VedroSubjectIndex.processMatches(project, pattern, scope, (file, info) ->
+                    !reported.add(file.getPath() + ":" + info.getOffset()) || consumer.process(new Item(file, info))),
+                progressIndicator);
+        }
+    }
+
+    @Override
+    public boolean processSelectedItem(@NotNull Item selected, int modifiers, @NotNull String searchText) {
+        if (selected.file.isValid()) {
+            new OpenFileDescriptor(project, selected.file, selected.info.getOffset()).navigate(true);
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull ListCellRenderer<? super Item> getElementsRenderer() {
+        return new ColoredListCellRenderer<>() {
+            @Override
+            protected void customizeCellRenderer(@NotNull JList<? extends Item> list, Item value, int index,
+                                                 boolean selected, boolean hasFocus) {
+                setIcon(value.info.getKind() == VedroScenarioInfo.Kind.CLASS ? AllIcons.Nodes.Class : AllIcons.Nodes.Function);
+                append(StringUtil.notNullize(value.info.getSubject()));
+                append("  " + getLocation(value), SimpleTextAttributes.GRAYED_ATTRIBUTES);
+            }
+        };
+    }
+
+    @Override
+    public @Nullable Object getDataForItem(@NotNull Item element, @NotNull String dataId) {
+        return null;
+    }
+
+    @NotNull
+    protected String getLocation(@NotNull Item item) {
+        String basePath = project.getBasePath();
+        String path = basePath != null ? FileUtil.getRelativePath(basePath, item.file.getPath(), '/') : null;
+        return (path != null ? path : item.file.getPath()) + "::" + item.info.getName();
+    }
+
+    public static final class Item {
+        private final VirtualFile file;
+        private final VedroScenarioInfo info;
+
+        public Item(@NotNull VirtualFile file, @NotNull VedroScenarioInfo info) {
+            this.file = file;
+            this.info = info;
+        }
+
+        @NotNull
+        public VirtualFile getFile() {
+            return file;
+        }
+
+        @NotNull
+        public VedroScenarioInfo getInfo() {
+            return info;
+        }
+    }
+
+    public static class Factory implements SearchEverywhereContributorFactory<Item> {
+        @Override
+        public @NotNull SearchEverywhereContributor<Item> createContributor(@NotNull AnActionEvent initEvent) {
+            return new VedroSubjectSearchContributor(initEvent.getRequiredData(CommonDataKeys.PROJECT));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.vedro.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+
+/**
+ * Per-element cache for scenario classification results.
+ * Values are dropped on any PSI modification because resolution may depend on other files.
+ */
+public class VedroClassificationCache {
+    public static final Key<CachedValue<Boolean>> SCENARIO_CLASS = Key.create("vedro.isScenarioClass");
+    public static final Key<CachedValue<Boolean>> SCENARIO_FUNCTION = Key.create("vedro.isScenarioFunction");
+    public static final Key<CachedValue<Boolean>> PARAMS_DECORATOR = Key.create("vedro.isParamsDecorator");
+    public static final Key<CachedValue<Boolean>> PARAMS_CALL = Key.create("vedro.isParamsCall");
+
+    private static final AtomicLong requests = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns the cached classification of an element, computing it on a miss
+     */
+    public static boolean get(@NotNull PsiElement element,
+                              @NotNull Key<CachedValue<Boolean>> key,
+                              @NotNull Supplier<Boolean> compute) {
+        requests.incrementAndGet();
+        return CachedValuesManager.getCachedValue(element, key, () -> {
+            misses.incrementAndGet();
+            return CachedValueProvider.Result.create(compute.get(), PsiModificationTracker.MODIFICATION_COUNT);
+        });
+    }
+
+    public static long getHits() {
+        return Math.max(0, requests.get() - misses.get());
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static void resetStats() {
+        requests.set(0);
+        misses.set(0);
+    }
+}
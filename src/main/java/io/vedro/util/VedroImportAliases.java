@@ -0,0 +1,101 @@
+package io.vedro.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.QualifiedName;
+import com.jetbrains.python.psi.PyExpression;
+import com.jetbrains.python.psi.PyFile;
+import com.jetbrains.python.psi.PyImportElement;
+import com.jetbrains.python.psi.PyReferenceExpression;
+import com.jetbrains.python.psi.PyTargetExpression;
+
+/**
+ * Syntactic table of local names that may be bound to Vedro objects in a file.
+ * Built from import statements and top-level assignments only, without reference resolution.
+ */
+public class VedroImportAliases {
+    // local name -> original short name it was imported or assigned from
+    protected final Map<String, String> aliases;
+
+    protected VedroImportAliases(@NotNull Map<String, String> aliases) {
+        this.aliases = aliases;
+    }
+
+    /**
+     * Checks if a local name can possibly refer to an object with the given qualified name
+     */
+    public boolean mayBind(@NotNull String localName, @NotNull String qualifiedName) {
+        String shortName = StringUtil.getShortName(qualifiedName);
+        return localName.equals(shortName) || shortName.equals(aliases.get(localName));
+    }
+
+    /**
+     * Gets the alias table of a file, computed once per file modification
+     */
+    @NotNull
+    public static VedroImportAliases of(@NotNull PyFile file) {
+        return CachedValuesManager.getCachedValue(file, () ->
+            CachedValueProvider.Result.create(compute(file), file));
+    }
+
+    /**
+     * Gets the alias table of the file of the given element; elements outside of Python files get an empty table
+     */
+    @NotNull
+    public static VedroImportAliases of(@NotNull PsiElement context) {
+        PsiFile file = context.getContainingFile();
+        return file instanceof PyFile pyFile ? of(pyFile) : new VedroImportAliases(Map.of());
+    }
+
+    /**
+     * Checks if a local name in the file of the given element can possibly refer to the qualified name.
+     * Elements outside of Python files are never filtered out.
+     */
+    public static boolean mayBind(@NotNull PsiElement context, @NotNull String localName, @NotNull String qualifiedName) {
+        PsiFile file = context.getContainingFile();
+        if (!(file instanceof PyFile pyFile)) {
+            return true;
+        }
+        return of(pyFile).mayBind(localName, qualifiedName);
+    }
+
+    @NotNull
+    public static VedroImportAliases compute(@NotNull PyFile file) {
+        Map<String, String> aliases = new HashMap<>();
+
+        for (PyImportElement element : PsiTreeUtil.findChildrenOfType(file, PyImportElement.class)) {
+            QualifiedName importedName = element.getImportedQName();
+            String asName = element.getAsName();
+            if (importedName == null || asName == null) {
+                continue;
+            }
+            String originalName = importedName.getLastComponent();
+            if (originalName != null && !originalName.equals(asName)) {
+                aliases.put(asName, originalName);
+            }
+        }
+
+        for (PyTargetExpression target : file.getTopLevelAttributes()) {
+            String name = target.getName();
+            PyExpression value = target.findAssignedValue();
+            if (name == null || !(value instanceof PyReferenceExpression ref)) {
+                continue;
+            }
+            String referencedName = ref.getReferencedName();
+            if (referencedName != null && !referencedName.equals(name)) {
+                aliases.put(name, aliases.getOrDefault(referencedName, referencedName));
+            }
+        }
+
+        return new VedroImportAliases(aliases);
+    }
+}
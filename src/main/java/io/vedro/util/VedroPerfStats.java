@@ -0,0 +1,168 @@
+package io.vedro.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Always-on counters for the plugin's hot paths.
+ * Each call costs two nanoTime reads and a few atomic increments; latencies go to power-of-two buckets,
+ * so percentiles are upper bounds with at most 2x error.
+ */
+public class VedroPerfStats {
+    public enum Metric {
+        HAS_QUALIFIED_NAME,
+        IS_SCENARIO_CLASS,
+        RUN_MARKER_INFO,
+        SUBJECT_MARKER_INFO,
+        FIND_CONFIG_FILE,
+        PRODUCER_SETUP,
+        PRODUCER_IS_FROM_CONTEXT,
+    }
+
+    public enum Cache {
+        CONFIG_ROOT,
+        CONTEXT_TARGET,
+    }
+
+    private static final int BUCKETS = 64;
+
+    private static final Timer[] timers = new Timer[Metric.values().length];
+    private static final LongAdder[] cacheHits = new LongAdder[Cache.values().length];
+    private static final LongAdder[] cacheMisses = new LongAdder[Cache.values().length];
+
+    static {
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new Timer();
+        }
+        for (int i = 0; i < cacheHits.length; i++) {
+            cacheHits[i] = new LongAdder();
+            cacheMisses[i] = new LongAdder();
+        }
+    }
+
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void stop(@NotNull Metric metric, long startNanos) {
+        timers[metric.ordinal()].add(System.nanoTime() - startNanos);
+    }
+
+    public static void hit(@NotNull Cache cache) {
+        cacheHits[cache.ordinal()].increment();
+    }
+
+    public static void miss(@NotNull Cache cache) {
+        cacheMisses[cache.ordinal()].increment();
+    }
+
+    public static void reset() {
+        for (Timer timer : timers) {
+            timer.reset();
+        }
+        for (int i = 0; i < cacheHits.length; i++) {
+            cacheHits[i].reset();
+            cacheMisses[i].reset();
+        }
+        VedroClassificationCache.resetStats();
+    }
+
+    /**
+     * Gets a snapshot of all counters; latencies are in microseconds
+     */
+    @NotNull
+    public static JsonObject toJson() {
+        JsonObject metrics = new JsonObject();
+        for (Metric metric : Metric.values()) {
+            metrics.add(metric.name().toLowerCase(), timers[metric.ordinal()].toJson());
+        }
+
+        JsonObject caches = new JsonObject();
+        for (Cache cache : Cache.values()) {
+            caches.add(cache.name().toLowerCase(), cacheJson(cacheHits[cache.ordinal()].sum(), cacheMisses[cache.ordinal()].sum()));
+        }
+        caches.add("classification", cacheJson(VedroClassificationCache.getHits(), VedroClassificationCache.getMisses()));
+
+        JsonObject result = new JsonObject();
+        result.addProperty("timestamp", System.currentTimeMillis());
+        result.add("metrics", metrics);
+        result.add("caches", caches);
+        return result;
+    }
+
+    @NotNull
+    private static JsonObject cacheJson(long hits, long misses) {
+        JsonObject json = new JsonObject();
+        json.addProperty("hits", hits);
+        json.addProperty("misses", misses);
+        long total = hits + misses;
+        json.addProperty("hit_rate", total == 0 ? 0.0 : (double) hits / total);
+        return json;
+    }
+
+    private static final class Timer {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        // Bucket i holds durations in [2^i, 2^(i+1)) nanoseconds
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void add(long nanos) {
+            nanos = Math.max(1, nanos);
+            count.increment();
+            totalNanos.add(nanos);
+            buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(nanos));
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+        }
+
+        double percentileMicros(long[] snapshot, long total, double percentile) {
+            long rank = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min((double) (1L << Math.min(i + 1, 62)), maxNanos.get()) / 1000.0;
+                }
+            }
+            return maxNanos.get() / 1000.0;
+        }
+
+        JsonObject toJson() {
+            long[] snapshot = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = buckets.get(i);
+                total += snapshot[i];
+            }
+
+            JsonObject json = new JsonObject();
+            json.addProperty("count", count.sum());
+            json.addProperty("total_ms", totalNanos.sum() / 1_000_000.0);
+            if (total > 0) {
+                json.addProperty("mean_us", totalNanos.sum() / 1000.0 / count.sum());
+                json.addProperty("p50_us", percentileMicros(snapshot, total, 0.50));
+                json.addProperty("p90_us", percentileMicros(snapshot, total, 0.90));
+                json.addProperty("p99_us", percentileMicros(snapshot, total, 0.99));
+                json.addProperty("max_us", maxNanos.get() / 1000.0);
+            }
+            return json;
+        }
+    }
+}
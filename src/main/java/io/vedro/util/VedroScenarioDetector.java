@@ -0,0 +1,67 @@
+package io.vedro.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.python.psi.PyCallExpression;
+import com.jetbrains.python.psi.PyClass;
+import com.jetbrains.python.psi.PyDecorator;
+import com.jetbrains.python.psi.PyFunction;
+
+/**
+ * Scenario checks that work in dumb mode.
+ * While indexes are being built they use the {@link VedroSyntaxUtils} rules, afterwards the resolving {@link VedroTestUtils} ones.
+ */
+public class VedroScenarioDetector {
+    public static boolean isScenarioClass(@NotNull PyClass cls) {
+        return isDumb(cls)
+            ? VedroSyntaxUtils.isScenarioClass(cls, VedroImportAliases.of(cls))
+            : VedroTestUtils.isScenarioClass(cls);
+    }
+
+    public static boolean isScenarioFunction(@NotNull PyFunction function) {
+        return isDumb(function)
+            ? VedroSyntaxUtils.isScenarioFunction(function, VedroImportAliases.of(function))
+            : VedroTestUtils.isScenarioFunction(function);
+    }
+
+    public static boolean isParamsDecorator(@NotNull PyDecorator decorator) {
+        return isDumb(decorator)
+            ? VedroSyntaxUtils.isParamsDecorator(decorator, VedroImportAliases.of(decorator))
+            : VedroTestUtils.isParamsDecorator(decorator);
+    }
+
+    public static boolean isParamsCall(@NotNull PyCallExpression call) {
+        return isDumb(call)
+            ? VedroSyntaxUtils.isParamsCall(call, VedroImportAliases.of(call))
+            : VedroTestUtils.isParamsCall(call);
+    }
+
+    /**
+     * Gets the 1-based index of a params decorator, or -1
+     */
+    public static int getParamsIndex(@NotNull PyDecorator decorator) {
+        if (isDumb(decorator)) {
+            return VedroSyntaxUtils.getParamsPosition(decorator, VedroImportAliases.of(decorator));
+        }
+        PyFunction target = decorator.getTarget();
+        return target != null ? VedroTestUtils.getParamsIndex(target).getIndex(decorator) : -1;
+    }
+
+    /**
+     * Gets the 1-based index of a params call, or -1
+     */
+    public static int getParamsIndex(@NotNull PyCallExpression call) {
+        if (isDumb(call)) {
+            return VedroSyntaxUtils.getParamsPosition(call, VedroImportAliases.of(call));
+        }
+        PyFunction function = PsiTreeUtil.getParentOfType(call, PyFunction.class);
+        return function != null ? VedroTestUtils.getParamsIndex(function).getIndex(call) : -1;
+    }
+
+    protected static boolean isDumb(@NotNull PsiElement element) {
+        return DumbService.isDumb(element.getProject());
+    }
+}
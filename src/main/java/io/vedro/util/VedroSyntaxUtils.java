@@ -0,0 +1,372 @@
+package io.vedro.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.jetbrains.python.psi.PyCallExpression;
+import com.jetbrains.python.psi.PyClass;
+import com.jetbrains.python.psi.PyDecorator;
+import com.jetbrains.python.psi.PyDecoratorList;
+import com.jetbrains.python.psi.PyExpression;
+import com.jetbrains.python.psi.PyFile;
+import com.jetbrains.python.psi.PyFromImportStatement;
+import com.jetbrains.python.psi.PyFunction;
+import com.jetbrains.python.psi.PyImportElement;
+import com.jetbrains.python.psi.PyReferenceExpression;
+import com.jetbrains.python.psi.PyStringLiteralExpression;
+import com.jetbrains.python.psi.PySubscriptionExpression;
+import com.jetbrains.python.psi.PyTargetExpression;
+
+import io.vedro.index.VedroScenarioInfo;
+
+/**
+ * Syntactic counterparts of the {@link VedroTestUtils} rules.
+ * They never resolve references, so they are safe to use during indexing and in dumb mode.
+ */
+public class VedroSyntaxUtils {
+    protected static final String SCENARIO_CLASS_SUFFIX = "Scenario";
+    protected static final String STAR_IMPORT = "*";
+
+    /**
+     * Checks if a PyClass looks like a Vedro scenario class
+     */
+    public static boolean isScenarioClass(@NotNull PyClass cls, @NotNull VedroImportAliases aliases) {
+        return isScenarioClass(cls, aliases, new HashSet<>());
+    }
+
+    protected static boolean isScenarioClass(@NotNull PyClass cls, @NotNull VedroImportAliases aliases, @NotNull Set<PyClass> visited) {
+        if (!visited.add(cls)) {
+            return false;
+        }
+
+        for (PyExpression base : cls.getSuperClassExpressions()) {
+            if (!(base instanceof PyReferenceExpression ref)) {
+                continue;
+            }
+            String name = ref.getReferencedName();
+            if (name == null) {
+                continue;
+            }
+
+            PyClass localBase = ref.isQualified() ? null : findTopLevelClass(cls, name);
+            if (localBase != null) {
+                if (isScenarioClass(localBase, aliases, visited)) {
+                    return true;
+                }
+                continue;
+            }
+
+            // Project-level base scenarios live in other files and cannot be followed without resolution,
+            // so imported bases are matched by the conventional "...Scenario" name
+            if (aliases.mayBind(name, VedroTestUtils.SCENARIO_BASE_CLASS) || name.endsWith(SCENARIO_CLASS_SUFFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the names bound by the imports of a file, with "*" if it has a star import
+     */
+    @NotNull
+    public static Set<String> getImportedNames(@NotNull PyFile file) {
+        Set<String> imported = new HashSet<>();
+        for (PyFromImportStatement statement : file.getFromImports()) {
+            if (statement.isStarImport()) {
+                imported.add(STAR_IMPORT);
+            }
+            for (PyImportElement element : statement.getImportElements()) {
+                addVisibleName(imported, element);
+            }
+        }
+        for (PyImportElement element : file.getImportTargets()) {
+            addVisibleName(imported, element);
+        }
+        return imported;
+    }
+
+    /**
+     * Checks if a class derives, directly or through classes of its file, from an imported name.
+     * Such a class may be a scenario with a project base class the "...Scenario" rule does not recognise.
+     */
+    public static boolean hasImportedBase(@NotNull PyClass cls, @NotNull Set<String> importedNames) {
+        return hasImportedBase(cls, importedNames, new HashSet<>());
+    }
+
+    protected static boolean hasImportedBase(@NotNull PyClass cls, @NotNull Set<String> importedNames, @NotNull Set<PyClass> visited) {
+        if (!visited.add(cls)) {
+            return false;
+        }
+
+        for (PyExpression base : cls.getSuperClassExpressions()) {
+            PyExpression root = base;
+            while (root instanceof PyReferenceExpression ref && ref.getQualifier() != null) {
+                root = ref.getQualifier();
+            }
+            if (!(root instanceof PyReferenceExpression rootRef) || rootRef.getReferencedName() == null) {
+                continue;
+            }
+            String name = rootRef.getReferencedName();
+            if (importedNames.contains(name)) {
+                return true;
+            }
+            PyClass localBase = root == base ? findTopLevelClass(cls, name) : null;
+            if (localBase != null) {
+                if (hasImportedBase(localBase, importedNames, visited)) {
+                    return true;
+                }
+            } else if (root == base && importedNames.contains(STAR_IMPORT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static void addVisibleName(@NotNull Set<String> names, @NotNull PyImportElement element) {
+        String name = element.getVisibleName();
+        if (name != null) {
+            names.add(name);
+            // "import a.b" binds "a"
+            names.add(StringUtil.substringBefore(name + ".", "."));
+        }
+    }
+
+    /**
+     * Checks if a PyFunction looks like a Vedro function-style scenario
+     */
+    public static boolean isScenarioFunction(@NotNull PyFunction function, @NotNull VedroImportAliases aliases) {
+        PyDecoratorList decoratorList = function.getDecoratorList();
+        if (decoratorList == null) {
+            return false;
+        }
+
+        for (PyDecorator decorator : decoratorList.getDecorators()) {
+            if (isDecoratorNamed(decorator, VedroTestUtils.SCENARIO_FN_DECORATOR, aliases)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a PyDecorator looks like a Vedro params decorator for a scenario class
+     */
+    public static boolean isParamsDecorator(@NotNull PyDecorator decorator, @NotNull VedroImportAliases aliases) {
+        if (!isDecoratorNamed(decorator, VedroTestUtils.PARAMS_DECORATOR, aliases)) {
+            return false;
+        }
+
+        PyFunction target = decorator.getTarget();
+        if (target == null || !"__init__".equals(target.getName())) {
+            return false;
+        }
+
+        PyClass containingClass = target.getContainingClass();
+        return containingClass != null && isScenarioClass(containingClass, aliases);
+    }
+
+    /**
+     * Checks if a PyCallExpression looks like a Vedro params call in a function-style scenario
+     */
+    public static boolean isParamsCall(@NotNull PyCallExpression call, @NotNull VedroImportAliases aliases) {
+        if (!isReferenceNamed(call.getCallee(), VedroTestUtils.PARAMS_DECORATOR, aliases)) {
+            return false;
+        }
+
+        PyDecorator decorator = PsiTreeUtil.getParentOfType(call, PyDecorator.class);
+        return decorator != null && isDecoratorNamed(decorator, VedroTestUtils.SCENARIO_FN_DECORATOR, aliases);
+    }
+
+    /**
+     * Gets the number of params decorators on the constructor of a scenario class
+     */
+    public static int countParamsDecorators(@NotNull PyClass cls, @NotNull VedroImportAliases aliases) {
+        PyFunction init = cls.findMethodByName("__init__", false, null);
+        if (init == null || init.getDecoratorList() == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (PyDecorator decorator : init.getDecoratorList().getDecorators()) {
+            if (isDecoratorNamed(decorator, VedroTestUtils.PARAMS_DECORATOR, aliases)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of params calls inside the scenario decorators of a function-style scenario
+     */
+    public static int countParamsCalls(@NotNull PyFunction function, @NotNull VedroImportAliases aliases) {
+        PyDecoratorList decoratorList = function.getDecoratorList();
+        if (decoratorList == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (PyDecorator decorator : decoratorList.getDecorators()) {
+            if (!isDecoratorNamed(decorator, VedroTestUtils.SCENARIO_FN_DECORATOR, aliases)) {
+                continue;
+            }
+            for (PyCallExpression call : PsiTreeUtil.findChildrenOfType(decorator, PyCallExpression.class)) {
+                if (isReferenceNamed(call.getCallee(), VedroTestUtils.PARAMS_DECORATOR, aliases)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the 1-based position of a params decorator among the params decorators of its function, or -1
+     */
+    public static int getParamsPosition(@NotNull PyDecorator decorator, @NotNull VedroImportAliases aliases) {
+        PyFunction target = decorator.getTarget();
+        if (target == null || target.getDecoratorList() == null) {
+            return -1;
+        }
+
+        int position = 0;
+        for (PyDecorator candidate : target.getDecoratorList().getDecorators()) {
+            if (isDecoratorNamed(candidate, VedroTestUtils.PARAMS_DECORATOR, aliases)) {
+                position++;
+                if (candidate.equals(decorator)) {
+                    return position;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the 1-based position of a params call inside the first scenario decorator that has any, or -1
+     */
+    public static int getParamsPosition(@NotNull PyCallExpression call, @NotNull VedroImportAliases aliases) {
+        PyFunction function = PsiTreeUtil.getParentOfType(call, PyFunction.class);
+        if (function == null || function.getDecoratorList() == null) {
+            return -1;
+        }
+
+        for (PyDecorator decorator : function.getDecoratorList().getDecorators()) {
+            if (!isDecoratorNamed(decorator, VedroTestUtils.SCENARIO_FN_DECORATOR, aliases)) {
+                continue;
+            }
+            int position = 0;
+            for (PyCallExpression candidate : PsiTreeUtil.findChildrenOfType(decorator, PyCallExpression.class)) {
+                if (isReferenceNamed(candidate.getCallee(), VedroTestUtils.PARAMS_DECORATOR, aliases)) {
+                    position++;
+                    if (candidate.equals(call)) {
+                        return position;
+                    }
+                }
+            }
+            if (position > 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the trimmed string value of the subject attribute of a class
+     */
+    @Nullable
+    public static String getSubject(@NotNull PyClass cls) {
+        PyTargetExpression attribute = cls.findClassAttribute("subject", false, null);
+        if (attribute == null) {
+            return null;
+        }
+        PyExpression value = attribute.findAssignedValue();
+        if (!(value instanceof PyStringLiteralExpression literal)) {
+            return null;
+        }
+        String subject = literal.getStringValue().trim();
+        return subject.isEmpty() ? null : subject;
+    }
+
+    /**
+     * Collects all top-level scenarios of a file, and as candidates the other classes with an imported base
+     */
+    @NotNull
+    public static List<VedroScenarioInfo> collectScenarios(@NotNull PyFile file) {
+        VedroImportAliases aliases = VedroImportAliases.compute(file);
+        Set<String> importedNames = null;
+        List<VedroScenarioInfo> scenarios = new ArrayList<>();
+
+        for (PyClass cls : file.getTopLevelClasses()) {
+            String name = cls.getName();
+            PsiElement nameIdentifier = cls.getNameIdentifier();
+            if (name == null || nameIdentifier == null) {
+                continue;
+            }
+            boolean candidate = false;
+            if (!isScenarioClass(cls, aliases)) {
+                if (importedNames == null) {
+                    importedNames = getImportedNames(file);
+                }
+                if (!hasImportedBase(cls, importedNames)) {
+                    continue;
+                }
+                candidate = true;
+            }
+            scenarios.add(new VedroScenarioInfo(
+                VedroScenarioInfo.Kind.CLASS,
+                name,
+                getSubject(cls),
+                countParamsDecorators(cls, aliases),
+                nameIdentifier.getTextOffset(),
+                candidate
+            ));
+        }
+
+        for (PyFunction function : file.getTopLevelFunctions()) {
+            String name = function.getName();
+            PsiElement nameIdentifier = function.getNameIdentifier();
+            if (name == null || nameIdentifier == null || !isScenarioFunction(function, aliases)) {
+                continue;
+            }
+            scenarios.add(new VedroScenarioInfo(
+                VedroScenarioInfo.Kind.FUNCTION,
+                name,
+                null,
+                countParamsCalls(function, aliases),
+                nameIdentifier.getTextOffset()
+            ));
+        }
+
+        return scenarios;
+    }
+
+    public static boolean isDecoratorNamed(@NotNull PyDecorator decorator, @NotNull String qualifiedName, @NotNull VedroImportAliases aliases) {
+        PyExpression callee = decorator.getCallee();
+        if (callee instanceof PySubscriptionExpression subscription) {
+            callee = subscription.getOperand();
+        }
+        return isReferenceNamed(callee, qualifiedName, aliases);
+    }
+
+    public static boolean isReferenceNamed(@Nullable PyExpression expression, @NotNull String qualifiedName, @NotNull VedroImportAliases aliases) {
+        if (!(expression instanceof PyReferenceExpression ref)) {
+            return false;
+        }
+        String name = ref.getReferencedName();
+        return name != null && aliases.mayBind(name, qualifiedName);
+    }
+
+    @Nullable
+    protected static PyClass findTopLevelClass(@NotNull PyClass context, @NotNull String name) {
+        if (!(context.getContainingFile() instanceof PyFile file)) {
+            return null;
+        }
+        return file.findTopLevelClass(name);
+    }
+}
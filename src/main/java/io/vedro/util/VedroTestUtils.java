@@ -1,9 +1,20 @@
 package io.vedro.util;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.python.psi.PyCallExpression;
 import com.jetbrains.python.psi.PyClass;
@@ -19,10 +30,22 @@ public class VedroTestUtils {
     public static final String SCENARIO_FN_DECORATOR = "vedro.plugins.functioner._scenario_decorator.scenario";
     public static final String PARAMS_DECORATOR = "vedro._params.params";
 
+    private static final Key<CachedValue<ParamsIndex>> PARAMS_INDEX_KEY = Key.create("vedro.paramsIndex");
+
     /**
      * Checks if a PyClass is a Vedro scenario class
      */
     public static boolean isScenarioClass(@NotNull PyClass cls) {
+        long start = VedroPerfStats.start();
+        try {
+            return VedroClassificationCache.get(cls, VedroClassificationCache.SCENARIO_CLASS,
+                () -> computeIsScenarioClass(cls));
+        } finally {
+            VedroPerfStats.stop(VedroPerfStats.Metric.IS_SCENARIO_CLASS, start);
+        }
+    }
+
+    protected static boolean computeIsScenarioClass(@NotNull PyClass cls) {
         return cls.isSubclass(SCENARIO_BASE_CLASS, null);
     }
 
@@ -30,6 +53,11 @@ public class VedroTestUtils {
      * Checks if a PyDecorator is a Vedro params decorator for a scenario class
      */
     public static boolean isParamsDecorator(@NotNull PyDecorator decorator) {
+        return VedroClassificationCache.get(decorator, VedroClassificationCache.PARAMS_DECORATOR,
+            () -> computeIsParamsDecorator(decorator));
+    }
+
+    protected static boolean computeIsParamsDecorator(@NotNull PyDecorator decorator) {
         PyExpression callee = decorator.getCallee();
         if (!hasQualifiedName(callee, PARAMS_DECORATOR)) {
             return false;
@@ -52,12 +80,18 @@ public class VedroTestUtils {
      * Checks if a PyFunction is a Vedro function-style scenario
      */
     public static boolean isScenarioFunction(@NotNull PyFunction function) {
+        return VedroClassificationCache.get(function, VedroClassificationCache.SCENARIO_FUNCTION,
+            () -> computeIsScenarioFunction(function));
+    }
+
+    protected static boolean computeIsScenarioFunction(@NotNull PyFunction function) {
         PyDecoratorList decoratorList = function.getDecoratorList();
         if (decoratorList == null) {
             return false;
         }
 
         for (PyDecorator decorator : decoratorList.getDecorators()) {
+            ProgressManager.checkCanceled();
             PyExpression callee = decorator.getCallee();
             if (hasQualifiedName(callee, SCENARIO_FN_DECORATOR)) {
                 return true;
@@ -70,6 +104,11 @@ public class VedroTestUtils {
      * Checks if a PyCallExpression is a Vedro params call in a function-style scenario
      */
     public static boolean isParamsCall(@NotNull PyCallExpression call) {
+        return VedroClassificationCache.get(call, VedroClassificationCache.PARAMS_CALL,
+            () -> computeIsParamsCall(call));
+    }
+
+    protected static boolean computeIsParamsCall(@NotNull PyCallExpression call) {
         PyExpression callee = call.getCallee();
         if (!hasQualifiedName(callee, PARAMS_DECORATOR)) {
             return false;
@@ -107,20 +146,7 @@ public class VedroTestUtils {
         if (function == null) {
             return -1;
         }
-        PyDecoratorList decorators = function.getDecoratorList();
-        if (decorators == null) {
-            return -1;
-        }
-        int index = 1;
-        for (PyDecorator d : decorators.getDecorators()) {
-            if (hasQualifiedName(d.getCallee(), PARAMS_DECORATOR)) {
-                if (d.isEquivalentTo(decorator)) {
-                    return index;
-                }
-                index++;
-            }
-        }
-        return -1;
+        return getParamsIndex(function).getIndex(decorator);
     }
 
     /**
@@ -131,36 +157,66 @@ public class VedroTestUtils {
         if (function == null) {
             return -1;
         }
+        return getParamsIndex(function).getIndex(call);
+    }
+
+    /**
+     * Gets the positions of all params decorators and params calls of a function, computed once per PSI modification
+     */
+    @NotNull
+    public static ParamsIndex getParamsIndex(@NotNull PyFunction function) {
+        return CachedValuesManager.getCachedValue(function, PARAMS_INDEX_KEY, () ->
+            CachedValueProvider.Result.create(computeParamsIndex(function), PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    @NotNull
+    protected static ParamsIndex computeParamsIndex(@NotNull PyFunction function) {
+        List<PyDecorator> decorators = new ArrayList<>();
+        List<PyCallExpression> calls = new ArrayList<>();
 
         PyDecoratorList decoratorList = function.getDecoratorList();
         if (decoratorList == null) {
-            return -1;
+            return new ParamsIndex(decorators, calls);
         }
 
         for (PyDecorator decorator : decoratorList.getDecorators()) {
-            if (!hasQualifiedName(decorator.getCallee(), SCENARIO_FN_DECORATOR)) {
+            ProgressManager.checkCanceled();
+            if (hasQualifiedName(decorator.getCallee(), PARAMS_DECORATOR)) {
+                decorators.add(decorator);
                 continue;
             }
-
-            int index = 1;
-            java.util.Collection<PyCallExpression> allCalls = PsiTreeUtil.findChildrenOfType(decorator, PyCallExpression.class);
-            for (PyCallExpression currentCall : allCalls) {
-                if (hasQualifiedName(currentCall.getCallee(), PARAMS_DECORATOR)) {
-                    if (currentCall.isEquivalentTo(call)) {
-                        return index;
-                    }
-                    index++;
+            if (!calls.isEmpty() || !hasQualifiedName(decorator.getCallee(), SCENARIO_FN_DECORATOR)) {
+                continue;
+            }
+            for (PyCallExpression call : PsiTreeUtil.findChildrenOfType(decorator, PyCallExpression.class)) {
+                ProgressManager.checkCanceled();
+                if (hasQualifiedName(call.getCallee(), PARAMS_DECORATOR)) {
+                    calls.add(call);
                 }
             }
         }
 
-        return -1;
+        return new ParamsIndex(decorators, calls);
     }
 
     public static boolean hasQualifiedName(PyExpression ref, @NotNull String qualifiedName) {
+        long start = VedroPerfStats.start();
+        try {
+            return computeHasQualifiedName(ref, qualifiedName);
+        } finally {
+            VedroPerfStats.stop(VedroPerfStats.Metric.HAS_QUALIFIED_NAME, start);
+        }
+    }
+
+    protected static boolean computeHasQualifiedName(PyExpression ref, @NotNull String qualifiedName) {
         if (!(ref instanceof PyReferenceExpression)) {
             return false;
         }
+        // Resolve only names that the import table allows to be bound to the qualified name
+        String referencedName = ((PyReferenceExpression) ref).getReferencedName();
+        if (referencedName == null || !VedroImportAliases.mayBind(ref, referencedName, qualifiedName)) {
+            return false;
+        }
         PsiElement resolved = ((PyReferenceExpression) ref).getReference().resolve();
         if (!(resolved instanceof PyQualifiedNameOwner)) {
             return false;
@@ -168,4 +224,53 @@ public class VedroTestUtils {
         String name = ((PyQualifiedNameOwner) resolved).getQualifiedName();
         return name != null && name.equals(qualifiedName);
     }
+
+    /**
+     * Converts a scenario subject to the file name it is expected to have
+     */
+    @NotNull
+    public static String convertSubjectToFilename(@NotNull String subject) {
+        String filtered = subject
+            .toLowerCase()
+            .replaceAll("\\s+", "_")
+            .replaceAll("[^\\p{L}\\p{N}_\\-\\(\\)]", "");
+        return filtered.isEmpty() ? "untitled.py" : (filtered + ".py");
+    }
+
+    /**
+     * 1-based positions of params decorators and params calls of a single function
+     */
+    public static class ParamsIndex {
+        protected final List<PyDecorator> decorators;
+        protected final List<PyCallExpression> calls;
+        protected final Map<PsiElement, Integer> indices = new HashMap<>();
+
+        protected ParamsIndex(@NotNull List<PyDecorator> decorators, @NotNull List<PyCallExpression> calls) {
+            this.decorators = decorators;
+            this.calls = calls;
+            for (int i = 0; i < decorators.size(); i++) {
+                indices.put(decorators.get(i), i + 1);
+            }
+            for (int i = 0; i < calls.size(); i++) {
+                indices.put(calls.get(i), i + 1);
+            }
+        }
+
+        /**
+         * Gets the 1-based index of a params decorator or call, or -1 if it is not one
+         */
+        public int getIndex(@NotNull PsiElement element) {
+            return indices.getOrDefault(element, -1);
+        }
+
+        @NotNull
+        public List<PyDecorator> getDecorators() {
+            return decorators;
+        }
+
+        @NotNull
+        public List<PyCallExpression> getCalls() {
+            return calls;
+        }
+    }
 }
@@ -0,0 +1,83 @@
+"""Runs vedro and writes scenario results as JSON lines for the Vedro PyCharm plugin.
+
+Usage: vedro_events_runner.py <events-file> run [vedro arguments...]
+
+Each line of the events file is one object:
+  {"e": "started", "id": ..., "name": ..., "loc": "path::Scenario#N"}
+  {"e": "passed" | "failed" | "skipped", "id": ..., "ms": ..., "msg": ..., "details": ...}
+The plugin tails the file, so stdout carries only the output of the reporters and the scenarios.
+"""
+import json
+import runpy
+import sys
+import traceback
+
+
+def _scenario_info(scenario):
+    unique_id = str(getattr(scenario, "unique_id", "") or "")
+    rel_path = str(getattr(scenario, "rel_path", "") or "")
+    loc = unique_id if "::" in unique_id else rel_path + "::" + str(getattr(scenario, "name", ""))
+    subject = getattr(scenario, "subject", None) or loc
+    return unique_id or loc, str(subject), loc
+
+
+def _failure(scenario_result):
+    for step_result in getattr(scenario_result, "step_results", []):
+        exc_info = getattr(step_result, "exc_info", None)
+        if exc_info is not None:
+            lines = traceback.format_exception(exc_info.type, exc_info.value, exc_info.traceback)
+            return str(exc_info.value) or exc_info.type.__name__, "".join(lines)
+    return "", ""
+
+
+class _EventWriter:
+    def __init__(self, path):
+        self._file = open(path, "a", encoding="utf-8", buffering=1)
+
+    def write(self, **event):
+        self._file.write(json.dumps(event, separators=(",", ":")) + "\n")
+
+    def on_event(self, event):
+        name = type(event).__name__
+        scenario_result = getattr(event, "scenario_result", None)
+        if scenario_result is None:
+            return
+        scenario_id, subject, loc = _scenario_info(scenario_result.scenario)
+        elapsed = getattr(scenario_result, "elapsed", 0) or 0
+        ms = int(elapsed * 1000)
+
+        if name == "ScenarioRunEvent":
+            self.write(e="started", id=scenario_id, name=subject, loc=loc)
+        elif name == "ScenarioPassedEvent":
+            self.write(e="passed", id=scenario_id, ms=ms)
+        elif name == "ScenarioFailedEvent":
+            message, details = _failure(scenario_result)
+            self.write(e="failed", id=scenario_id, ms=ms, msg=message, details=details)
+        elif name == "ScenarioSkippedEvent":
+            self.write(e="skipped", id=scenario_id, name=subject, loc=loc)
+
+
+def _install(writer):
+    from vedro.core import Dispatcher
+
+    original_fire = Dispatcher.fire
+
+    async def fire(self, event):
+        try:
+            writer.on_event(event)
+        except Exception:
+            traceback.print_exc()
+        return await original_fire(self, event)
+
+    Dispatcher.fire = fire
+
+
+def main():
+    events_file = sys.argv[1]
+    _install(_EventWriter(events_file))
+    sys.argv = ["vedro"] + sys.argv[2:]
+    runpy.run_module("vedro", run_name="__main__", alter_sys=True)
+
+
+if __name__ == "__main__":
+    main()
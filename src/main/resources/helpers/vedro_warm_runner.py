@@ -0,0 +1,157 @@
+"""Warm vedro runner used by the Vedro PyCharm plugin.
+
+The daemon imports vedro and the third-party modules used by vedro.cfg.py once,
+then forks a fresh child for every run request, so runs skip interpreter and
+import startup. Modules from the working directory are never kept warm.
+
+Protocol (127.0.0.1, one connection per run):
+  daemon stdout:  "port <port> <token>"
+  client:         {"token": "...", "args": ["run", ...], "env": {...}}
+  server:         "\0vedro-warm-pid <pid>" or "\0vedro-warm-stale",
+                  then the run output,
+                  then "\0vedro-warm-exit <code>"
+"""
+import json
+import os
+import runpy
+import secrets
+import signal
+import socket
+import sys
+import threading
+import traceback
+
+PID_MARKER = "\0vedro-warm-pid "
+STALE_MARKER = "\0vedro-warm-stale"
+EXIT_MARKER = "\0vedro-warm-exit "
+# Seconds a client may take to send its request; the accept loop serves one client at a time
+REQUEST_TIMEOUT = 5
+
+
+def _is_project_path(path, cwd):
+    path = os.path.abspath(path)
+    return path == cwd or path.startswith(cwd + os.sep)
+
+
+def _preload(cwd):
+    import vedro  # noqa: F401
+
+    config_path = os.path.join(cwd, "vedro.cfg.py")
+    if os.path.exists(config_path):
+        try:
+            runpy.run_path(config_path, run_name="__vedro_warm_cfg__")
+        except BaseException:
+            traceback.print_exc()
+
+    # Project modules must be imported fresh by every run
+    for name, module in list(sys.modules.items()):
+        module_file = getattr(module, "__file__", None)
+        if module_file and _is_project_path(module_file, cwd):
+            del sys.modules[name]
+
+
+def _snapshot_packages(cwd):
+    snapshot = {}
+    for path in sys.path:
+        if path and os.path.isdir(path) and not _is_project_path(path, cwd):
+            snapshot[path] = os.stat(path).st_mtime
+    return snapshot
+
+
+def _is_stale(snapshot):
+    for path, mtime in snapshot.items():
+        try:
+            if os.stat(path).st_mtime != mtime:
+                return True
+        except OSError:
+            return True
+    return False
+
+
+def _exit_code(code):
+    if code is None:
+        return 0
+    return code if isinstance(code, int) else 1
+
+
+def _run(conn, request):
+    conn.sendall((PID_MARKER + str(os.getpid()) + "\n").encode("utf-8"))
+
+    os.environ.update(request.get("env", {}))
+    sys.stdout.flush()
+    sys.stderr.flush()
+    os.dup2(conn.fileno(), 1)
+    os.dup2(conn.fileno(), 2)
+
+    sys.argv = ["vedro"] + request.get("args", [])
+    code = 0
+    try:
+        runpy.run_module("vedro", run_name="__main__", alter_sys=True)
+    except SystemExit as e:
+        code = _exit_code(e.code)
+    except BaseException:
+        traceback.print_exc()
+        code = 1
+
+    sys.stdout.flush()
+    sys.stderr.flush()
+    os.write(1, (EXIT_MARKER + str(code) + "\n").encode("utf-8"))
+    return code
+
+
+def _watch_parent():
+    # The plugin holds stdin open; EOF means the IDE is gone
+    sys.stdin.read()
+    os._exit(0)
+
+
+def main():
+    cwd = os.path.abspath(os.getcwd())
+    if cwd not in sys.path:
+        sys.path.insert(0, cwd)
+
+    _preload(cwd)
+    snapshot = _snapshot_packages(cwd)
+    token = secrets.token_hex(16)
+
+    server = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
+    server.bind(("127.0.0.1", 0))
+    server.listen(8)
+    # Finished runs are reaped by the kernel; runs restore the default so their own children can be waited for
+    signal.signal(signal.SIGCHLD, signal.SIG_IGN)
+
+    threading.Thread(target=_watch_parent, daemon=True).start()
+    print("port %d %s" % (server.getsockname()[1], token), flush=True)
+
+    while True:
+        conn, _ = server.accept()
+        conn.settimeout(REQUEST_TIMEOUT)
+        try:
+            request = json.loads(conn.makefile("rb").readline().decode("utf-8"))
+        except (ValueError, OSError):
+            conn.close()
+            continue
+        if request.get("token") != token:
+            conn.close()
+            continue
+        if _is_stale(snapshot):
+            conn.sendall((STALE_MARKER + "\n").encode("utf-8"))
+            conn.close()
+            os._exit(0)
+
+        pid = os.fork()
+        if pid == 0:
+            server.close()
+            signal.signal(signal.SIGCHLD, signal.SIG_DFL)
+            # The socket becomes the run's stdout and stderr, which must block
+            conn.settimeout(None)
+            code = 1
+            try:
+                code = _run(conn, request)
+            finally:
+                os._exit(code)
+        conn.close()
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,83 @@
+package io.vedro.perf;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * Collects latency and allocation samples and writes them as JSON
+ */
+public class VedroBenchmarkReport {
+    protected final Map<String, Object> meta = new LinkedHashMap<>();
+    protected final List<Map<String, Object>> results = new ArrayList<>();
+
+    public void putMeta(@NotNull String key, @NotNull Object value) {
+        meta.put(key, value);
+    }
+
+    /**
+     * Runs the operation the given number of times and records one result entry.
+     * Each run counts as {@code opsPerRun} operations for the per-operation figures.
+     */
+    public void measure(@NotNull String name, @NotNull String mode, int runs, int opsPerRun, @NotNull Runnable beforeRun, @NotNull Runnable operation) {
+        long[] nanos = new long[runs];
+        long allocated = 0;
+        for (int i = 0; i < runs; i++) {
+            beforeRun.run();
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            operation.run();
+            nanos[i] = System.nanoTime() - start;
+            allocated += allocatedBytes() - allocatedBefore;
+        }
+        Arrays.sort(nanos);
+
+        long total = Arrays.stream(nanos).sum();
+        long ops = (long) runs * Math.max(1, opsPerRun);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("mode", mode);
+        result.put("runs", runs);
+        result.put("opsPerRun", opsPerRun);
+        result.put("meanRunNs", total / runs);
+        result.put("p50RunNs", percentile(nanos, 0.5));
+        result.put("p90RunNs", percentile(nanos, 0.9));
+        result.put("maxRunNs", nanos[runs - 1]);
+        result.put("meanOpNs", total / ops);
+        result.put("allocatedBytesPerOp", allocated / ops);
+        results.add(result);
+    }
+
+    public void write(@NotNull Path output) throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>(meta);
+        root.put("timestamp", Instant.now().toString());
+        root.put("results", results);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(root);
+        Files.writeString(output, json, StandardCharsets.UTF_8);
+    }
+
+    protected static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    protected static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,33 @@
+package io.vedro.perf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shape of a generated project, configured through "vedro.bench.*" system properties
+ */
+public class VedroBenchmarkShape {
+    public final int files = intProperty("files", 200);
+    public final int classesPerFile = intProperty("classesPerFile", 1);
+    public final int functionsPerFile = intProperty("functionsPerFile", 1);
+    public final int paramsRows = intProperty("paramsRows", 5);
+    public final int roots = Math.max(1, intProperty("roots", 3));
+    public final int savedConfigurations = intProperty("savedConfigurations", 100);
+    public final int iterations = Math.max(1, intProperty("iterations", 10));
+
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("files", files);
+        map.put("classesPerFile", classesPerFile);
+        map.put("functionsPerFile", functionsPerFile);
+        map.put("paramsRows", paramsRows);
+        map.put("roots", roots);
+        map.put("savedConfigurations", savedConfigurations);
+        map.put("iterations", iterations);
+        return map;
+    }
+
+    protected static int intProperty(String name, int defaultValue) {
+        return Integer.getInteger("vedro.bench." + name, defaultValue);
+    }
+}
@@ -0,0 +1,154 @@
+package io.vedro.perf;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.execution.Location;
+import com.intellij.execution.PsiLocation;
+import com.intellij.execution.actions.ConfigurationContext;
+import com.intellij.execution.actions.ConfigurationFromContext;
+import com.intellij.execution.actions.RunConfigurationProducer;
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManagerCore;
+import com.intellij.openapi.actionSystem.ActionPlaces;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.LangDataKeys;
+import com.intellij.openapi.extensions.PluginId;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.SyntaxTraverser;
+import com.intellij.psi.impl.PsiModificationTrackerImpl;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.testFramework.MapDataContext;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.jetbrains.python.psi.PyClass;
+import com.jetbrains.python.psi.PyFile;
+import com.jetbrains.python.psi.PyFunction;
+
+import io.vedro.config.VedroRunConfiguration;
+import io.vedro.execution.VedroConfigurationProducer;
+import io.vedro.ui.markers.VedroRunLineMarkerContributor;
+import io.vedro.ui.markers.VedroSubjectLineMarkerContributor;
+import io.vedro.util.VedroClassificationCache;
+
+/**
+ * Measures the line marker contributors and the configuration producer on a generated project.
+ * "cold" runs invalidate PSI caches before each run, "warm" runs reuse them.
+ */
+public class VedroBenchmarkTest extends BasePlatformTestCase {
+    public void testBenchmark() throws Exception {
+        VedroBenchmarkShape shape = new VedroBenchmarkShape();
+        List<PyFile> files = new VedroSyntheticProject(myFixture, shape).generate();
+        List<PsiElement> elements = collectElements(files);
+        List<PsiElement> scenarioNames = collectScenarioNames(files);
+
+        VedroBenchmarkReport report = new VedroBenchmarkReport();
+        report.putMeta("pluginVersion", getPluginVersion());
+        report.putMeta("shape", shape.toMap());
+        report.putMeta("elements", elements.size());
+        report.putMeta("scenarios", scenarioNames.size());
+
+        VedroRunLineMarkerContributor runContributor = new VedroRunLineMarkerContributor();
+        VedroSubjectLineMarkerContributor subjectContributor = new VedroSubjectLineMarkerContributor();
+        VedroConfigurationProducer producer = RunConfigurationProducer.getInstance(VedroConfigurationProducer.class);
+
+        List<ConfigurationContext> contexts = new ArrayList<>();
+        for (PsiElement name : scenarioNames) {
+            contexts.add(createContext(name));
+        }
+        List<VedroRunConfiguration> saved = createSavedConfigurations(producer, contexts, shape.savedConfigurations);
+
+        for (String mode : List.of("cold", "warm")) {
+            Runnable beforeRun = mode.equals("cold") ? this::dropPsiCaches : () -> {};
+
+            report.measure("VedroRunLineMarkerContributor.getInfo", mode, shape.iterations, elements.size(), beforeRun, () -> {
+                for (PsiElement element : elements) {
+                    runContributor.getInfo(element);
+                }
+            });
+            report.measure("VedroSubjectLineMarkerContributor.getInfo", mode, shape.iterations, elements.size(), beforeRun, () -> {
+                for (PsiElement element : elements) {
+                    subjectContributor.getInfo(element);
+                }
+            });
+            report.measure("VedroConfigurationProducer.setupConfiguration", mode, shape.iterations, contexts.size(), beforeRun, () -> {
+                for (ConfigurationContext context : contexts) {
+                    producer.createConfigurationFromContext(context);
+                }
+            });
+            report.measure("VedroConfigurationProducer.isConfigurationFromContext", mode, shape.iterations, contexts.size() * saved.size(), beforeRun, () -> {
+                for (ConfigurationContext context : contexts) {
+                    for (VedroRunConfiguration configuration : saved) {
+                        producer.isConfigurationFromContext(configuration, context);
+                    }
+                }
+            });
+        }
+
+        report.putMeta("classificationCacheHits", VedroClassificationCache.getHits());
+        report.putMeta("classificationCacheMisses", VedroClassificationCache.getMisses());
+        report.write(Paths.get(System.getProperty("vedro.bench.output", "vedro-bench.json")));
+    }
+
+    @NotNull
+    protected List<PsiElement> collectElements(@NotNull List<PyFile> files) {
+        List<PsiElement> elements = new ArrayList<>();
+        for (PyFile file : files) {
+            SyntaxTraverser.psiTraverser(file).forEach(elements::add);
+        }
+        return elements;
+    }
+
+    @NotNull
+    protected List<PsiElement> collectScenarioNames(@NotNull List<PyFile> files) {
+        List<PsiElement> names = new ArrayList<>();
+        for (PyFile file : files) {
+            for (PyClass cls : file.getTopLevelClasses()) {
+                if (cls.getNameIdentifier() != null && cls.getName() != null && cls.getName().startsWith("Scenario")) {
+                    names.add(cls.getNameIdentifier());
+                }
+            }
+            for (PyFunction function : file.getTopLevelFunctions()) {
+                if (function.getNameIdentifier() != null) {
+                    names.add(function.getNameIdentifier());
+                }
+            }
+        }
+        return names;
+    }
+
+    @NotNull
+    protected List<VedroRunConfiguration> createSavedConfigurations(@NotNull VedroConfigurationProducer producer,
+                                                                    @NotNull List<ConfigurationContext> contexts,
+                                                                    int count) {
+        List<VedroRunConfiguration> configurations = new ArrayList<>();
+        for (int i = 0; i < count && !contexts.isEmpty(); i++) {
+            ConfigurationFromContext fromContext = producer.createConfigurationFromContext(contexts.get(i % contexts.size()));
+            if (fromContext != null) {
+                configurations.add((VedroRunConfiguration) fromContext.getConfiguration());
+            }
+        }
+        return configurations;
+    }
+
+    @NotNull
+    protected ConfigurationContext createContext(@NotNull PsiElement element) {
+        MapDataContext dataContext = new MapDataContext();
+        dataContext.put(CommonDataKeys.PROJECT, getProject());
+        dataContext.put(LangDataKeys.MODULE, getModule());
+        dataContext.put(Location.DATA_KEY, PsiLocation.fromPsiElement(element));
+        return ConfigurationContext.getFromContext(dataContext, ActionPlaces.UNKNOWN);
+    }
+
+    protected void dropPsiCaches() {
+        ((PsiModificationTrackerImpl) PsiModificationTracker.getInstance(getProject())).incCounter();
+    }
+
+    @NotNull
+    protected static String getPluginVersion() {
+        IdeaPluginDescriptor plugin = PluginManagerCore.getPlugin(PluginId.getId("vedro"));
+        return plugin != null ? String.valueOf(plugin.getVersion()) : "unknown";
+    }
+}
@@ -0,0 +1,112 @@
+package io.vedro.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture;
+import com.jetbrains.python.psi.PyFile;
+
+/**
+ * Generates a Python project with a stub vedro package, nested config roots and scenario files
+ */
+public class VedroSyntheticProject {
+    protected final CodeInsightTestFixture fixture;
+    protected final VedroBenchmarkShape shape;
+
+    public VedroSyntheticProject(@NotNull CodeInsightTestFixture fixture, @NotNull VedroBenchmarkShape shape) {
+        this.fixture = fixture;
+        this.shape = shape;
+    }
+
+    /**
+     * Creates the project and returns the generated scenario files
+     */
+    @NotNull
+    public List<PyFile> generate() {
+        addVedroPackage();
+
+        List<String> roots = new ArrayList<>();
+        String root = "";
+        for (int i = 0; i < shape.roots; i++) {
+            root = root + "root" + i + "/";
+            roots.add(root);
+            fixture.addFileToProject(root + "vedro.cfg.py", "import vedro\n\n\nclass Config(vedro.Config):\n    pass\n");
+            fixture.addFileToProject(root + "contexts/__init__.py", "");
+            fixture.addFileToProject(root + "contexts/helpers.py", "def helper():\n    return 42\n");
+        }
+
+        List<PyFile> files = new ArrayList<>();
+        for (int i = 0; i < shape.files; i++) {
+            String dir = roots.get(i % roots.size()) + "scenarios/group_" + (i / 50) + "/";
+            String path = dir + "scenario_" + i + ".py";
+            files.add((PyFile) fixture.addFileToProject(path, generateScenarioFile(i)));
+        }
+        return files;
+    }
+
+    @NotNull
+    protected String generateScenarioFile(int fileIndex) {
+        StringBuilder text = new StringBuilder();
+        text.append("import vedro\n");
+        text.append("from dataclasses import dataclass\n");
+        text.append("from vedro import params, scenario\n");
+        text.append("from contexts.helpers import helper\n\n");
+
+        for (int c = 0; c < shape.classesPerFile; c++) {
+            text.append("\nclass Scenario").append(c).append("(vedro.Scenario):\n");
+            text.append("    subject = \"scenario ").append(fileIndex).append(" case ").append(c).append("\"\n\n");
+            for (int p = 0; p < shape.paramsRows; p++) {
+                text.append("    @params(").append(p).append(")\n");
+            }
+            text.append("    def __init__(self").append(shape.paramsRows > 0 ? ", value" : "").append("):\n");
+            text.append("        pass\n\n");
+            text.append("    @property\n");
+            text.append("    def name(self):\n");
+            text.append("        return helper()\n\n");
+            text.append("    def when(self):\n");
+            text.append("        self.result = helper()\n\n");
+            text.append("    def then(self):\n");
+            text.append("        assert self.result == 42\n\n");
+        }
+
+        for (int f = 0; f < shape.functionsPerFile; f++) {
+            text.append("\n@scenario([\n");
+            for (int p = 0; p < shape.paramsRows; p++) {
+                text.append("    params(").append(p).append("),\n");
+            }
+            text.append("])\n");
+            text.append("def function_scenario_").append(f).append("(").append(shape.paramsRows > 0 ? "value" : "").append("):\n");
+            text.append("    assert helper() == 42\n\n");
+        }
+
+        text.append("\n@dataclass\n");
+        text.append("class Payload:\n");
+        text.append("    value: int = 0\n");
+        return text.toString();
+    }
+
+    protected void addVedroPackage() {
+        fixture.addFileToProject("vedro/__init__.py",
+            "from ._config import Config\n" +
+            "from ._params import params\n" +
+            "from ._scenario import Scenario\n" +
+            "from .plugins.functioner import scenario\n");
+        fixture.addFileToProject("vedro/_config.py", "class Config:\n    pass\n");
+        fixture.addFileToProject("vedro/_params.py",
+            "class params:\n" +
+            "    def __init__(self, *args, **kwargs):\n" +
+            "        self.args = args\n\n" +
+            "    def __call__(self, fn):\n" +
+            "        return fn\n");
+        fixture.addFileToProject("vedro/_scenario.py", "class Scenario:\n    subject = \"\"\n");
+        fixture.addFileToProject("vedro/plugins/__init__.py", "");
+        fixture.addFileToProject("vedro/plugins/functioner/__init__.py", "from ._scenario_decorator import scenario\n");
+        fixture.addFileToProject("vedro/plugins/functioner/_scenario_decorator.py",
+            "def scenario(*args, **kwargs):\n" +
+            "    def wrapper(fn):\n" +
+            "        return fn\n" +
+            "    return wrapper\n");
+    }
+}